@@ -0,0 +1,102 @@
+package com.taskmate.benchmark;
+
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.repository.TokenRepository;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.security.JwtAuthenticationFilter;
+import com.taskmate.security.JwtService;
+import com.taskmate.security.PersistedTokenStore;
+import com.taskmate.security.StatelessTokenStore;
+import com.taskmate.security.TokenStore;
+import com.taskmate.security.TokenValidityIndex;
+import com.taskmate.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}: subject extraction, user
+ * lookup, revocation check and signature check, ending with the security context populated.
+ * Repositories are Mockito mocks, so {@code userCacheTtlSeconds = 0} measures the filter's own
+ * cost on a principal cache miss (plus the mock's call overhead), not database latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "your_secret_key_should_be_atleast_256_bits_long_xyz123456789012345678901234567890";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"persisted", "stateless"})
+    private String tokenMode;
+
+    @Param({"0", "60"})
+    private long userCacheTtlSeconds;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        User user = User.builder()
+                .id(1)
+                .name("Bench")
+                .email("bench@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.findTokenVersionById(user.getId())).thenReturn(user.getTokenVersion());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(SECRET, 86_400_000L, 10_000, meterRegistry);
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, userCacheTtlSeconds, 10_000, meterRegistry);
+        TokenStore tokenStore = "stateless".equals(tokenMode)
+                ? new StatelessTokenStore(userRepository, userPrincipalCache, jwtService)
+                : new PersistedTokenStore(mock(TokenRepository.class), new TokenValidityIndex(), jwtService);
+
+        filter = new JwtAuthenticationFilter(jwtService, userPrincipalCache, tokenStore, meterRegistry);
+        authorization = "Bearer " + tokenStore.issueToken(user);
+        if (!authenticatedRequest()) {
+            throw new IllegalStateException("The benchmark request was not authenticated");
+        }
+    }
+
+    @Benchmark
+    public boolean authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/tasks");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication() != null;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmate.benchmark;
+
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work done by the authentication filter: extract the subject, then
+ * validate the token. {@code cacheSize = 0} disables the claims cache, which is the
+ * parse-and-verify-every-call path. {@code generateToken} is the signing done at login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "your_secret_key_should_be_atleast_256_bits_long_xyz123456789012345678901234567890";
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L, cacheSize, new SimpleMeterRegistry());
+        user = User.builder().id(1).email("bench@gmail.com").role(Role.USER).build();
+        token = jwtService.generateToken(user.getEmail());
+    }
+
+    @Benchmark
+    public boolean filterRequest() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        // As issued at login, with a jti
+        return jwtService.generateToken(user.getEmail(), UUID.randomUUID().toString(), Map.of());
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmate.benchmark;
+
+import com.taskmate.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login password checks per second during a storm of {@value #CALLERS} concurrent logins,
+ * by size of the hashing pool. Throughput stops growing once the pool covers the cores;
+ * anything beyond that only takes CPU away from other requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(PasswordHashingBenchmark.CALLERS)
+public class PasswordHashingBenchmark {
+
+    static final int CALLERS = 16;
+
+    @Param({"1", "2", "4", "8"})
+    public int poolSize;
+
+    @Param({"10"})
+    public int bcryptCost;
+
+    private BoundedPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCost);
+        hash = bcrypt.encode("correct horse battery staple");
+        encoder = new BoundedPasswordEncoder(bcrypt, poolSize, CALLERS, 60_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.close();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+}
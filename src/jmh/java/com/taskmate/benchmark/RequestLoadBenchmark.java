@@ -0,0 +1,121 @@
+package com.taskmate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TaskmateApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end request throughput with {@value #CLIENTS} concurrent clients, platform versus
+ * virtual request threads. Each invocation fires {@value #CLIENTS} authenticated
+ * {@code GET /api/task} calls at once (JWT filter, user lookup and an H2 query) and waits for
+ * all of them; the score is requests per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestLoadBenchmark {
+
+    static final int CLIENTS = 1000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listTasks;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TaskmateApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--management.server.port=-1",
+                "--taskmate.db-name=load_benchmark",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--logging.level.root=WARN");
+        String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        HttpResponse<String> registered = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/register-admin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"Load\",\"email\":\"load@gmail.com\",\"password\":\"pw\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(registered.body()).get("token").asText();
+
+        HttpResponse<String> users = client.send(HttpRequest.newBuilder(URI.create(base + "/api/profile/users"))
+                .header("Authorization", "Bearer " + token)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String userId = new ObjectMapper().readTree(users.body()).get(0).get("id").asText();
+        for (int i = 0; i < 20; i++) {
+            client.send(HttpRequest.newBuilder(URI.create(base + "/api/task/create-task?userId=" + userId))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"title\":\"Load " + i + "\",\"description\":\"benchmark\",\"priority\":\"HIGH\"}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        listTasks = HttpRequest.newBuilder(URI.create(base + "/api/task"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public int concurrentClients() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] responses = new CompletableFuture[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            responses[i] = client.sendAsync(listTasks, HttpResponse.BodyHandlers.discarding());
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CLIENTS) {
+            throw new IllegalStateException((CLIENTS - ok) + " of " + CLIENTS + " requests failed");
+        }
+        return ok;
+    }
+}
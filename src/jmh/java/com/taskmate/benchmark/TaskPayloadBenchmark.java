@@ -0,0 +1,94 @@
+package com.taskmate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of one task payload: the entity with its embedded User
+ * versus the {@link TaskView} projection. The {@code :bytes} secondary result is
+ * a rate like the primary score, so bytes per task = {@code :bytes} / score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPayloadBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private TaskView view;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        User assignee = User.builder()
+                .id(42)
+                .name("Asha Rao")
+                .email("asha.rao@gmail.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1iG8p1cQJ8wYy1nQ9uQ9mM6")
+                .role(Role.USER)
+                .build();
+        task = Task.builder()
+                .id(1001L)
+                .title("Prepare quarterly report")
+                .description("Collect numbers from finance and draft the summary")
+                .deadline(LocalDate.of(2026, 12, 31))
+                .status(TaskStatus.IN_PROGRESS)
+                .priority(TaskPriority.HIGH)
+                .comments("Sync with the finance team first")
+                .assignedTo(assignee)
+                .build();
+        view = TaskView.from(task);
+    }
+
+    @Benchmark
+    public byte[] entityWithUser(Bytes counter) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(task);
+        counter.bytes += json.length;
+        return json;
+    }
+
+    @Benchmark
+    public byte[] taskView(Bytes counter) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(view);
+        counter.bytes += json.length;
+        return json;
+    }
+}
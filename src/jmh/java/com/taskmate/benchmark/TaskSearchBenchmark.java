@@ -0,0 +1,82 @@
+package com.taskmate.benchmark;
+
+import com.taskmate.dto.TaskSearchResult;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.service.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over {@value #TASKS} synthetic tasks held in {@link TaskSearchIndex}. Words are
+ * drawn from a {@value #VOCABULARY}-word vocabulary, plus one word every title shares, so typical
+ * terms appear in a few hundred tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TaskSearchBenchmark {
+
+    static final int TASKS = 1_000_000;
+    static final int VOCABULARY = 50_000;
+    // "wyq0": shares its first three letters with 35 other words (wyq1 .. wyqz)
+    static final int TERM = 45_000;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskSearchIndex(null, false, 1, 1);
+        Random random = new Random(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < TASKS; i++) {
+            index.index(new TaskView((long) i, "task " + words(random, 3), words(random, 8),
+                    LocalDate.now(), statuses[i % statuses.length], priorities[i % priorities.length],
+                    null, i % 100, "User " + (i % 100)));
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(word(random.nextInt(VOCABULARY))).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(int n) {
+        return "w" + Integer.toString(n, 36);
+    }
+
+    @Benchmark
+    public TaskSearchResult singleTerm() {
+        return index.search(word(TERM), null, null, TaskSearchIndex.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public TaskSearchResult commonAndRareTermWithFacet() {
+        return index.search("task " + word(TERM), TaskStatus.PENDING, null, TaskSearchIndex.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public TaskSearchResult prefix() {
+        return index.search(word(TERM).substring(0, 3) + "*", null, null, TaskSearchIndex.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmate.benchmark;
+
+import com.taskmate.TaskmateApplication;
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} calls against the in-memory H2 database of a running application, so each
+ * operation includes its transaction, Hibernate and the after-commit listeners (change feed,
+ * search index, counters, rollups). The listed user has {@value #TASKS_PER_USER} tasks; created
+ * tasks go to a second user so the listing stays the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    static final int TASKS_PER_USER = 50;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private User listedUser;
+    private Long creatingUserId;
+    private final List<Long> taskIds = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskmateApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--taskmate.db-name=service_benchmark",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        listedUser = userRepository.save(newUser("listed@gmail.com"));
+        creatingUserId = userRepository.save(newUser("creating@gmail.com")).getId().longValue();
+        for (int i = 0; i < TASKS_PER_USER; i++) {
+            taskIds.add(taskService.createTask(newTask(i), listedUser.getId().longValue()).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(newTask(next++), creatingUserId);
+    }
+
+    @Benchmark
+    public Task updateTaskStatus() {
+        int i = next++;
+        return taskService.updateTaskStatus(taskIds.get(i % TASKS_PER_USER), (i / TASKS_PER_USER) % 2 == 0 ? "IN_PROGRESS" : "PENDING");
+    }
+
+    @Benchmark
+    public List<TaskView> getTasksByUser() {
+        return taskService.getTasksByUser(listedUser);
+    }
+
+    @Benchmark
+    public TaskPage getTaskPage() {
+        return taskService.getTaskPage(TaskPageRequest.builder()
+                .assigneeId(listedUser.getId())
+                .size(20)
+                .build());
+    }
+
+    private static User newUser(String email) {
+        return User.builder()
+                .name("Bench")
+                .email(email)
+                .password("x")
+                .role(Role.USER)
+                .build();
+    }
+
+    private static Task newTask(int i) {
+        Task task = new Task();
+        task.setTitle("Benchmark task " + i);
+        task.setDescription("Created by TaskServiceBenchmark");
+        task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+        task.setDeadline(LocalDate.now().plusDays(i % 30));
+        return task;
+    }
+}
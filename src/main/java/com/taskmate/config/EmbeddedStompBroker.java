@@ -0,0 +1,321 @@
+package com.taskmate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process STOMP 1.2 broker over TCP, a local stand-in for RabbitMQ/ActiveMQ when
+ * running several nodes with {@code taskmate.websocket.broker=relay} on one machine and in tests.
+ *
+ * Every destination is publish/subscribe: a SEND is delivered to every subscription on that
+ * destination. There are no acknowledgements, transactions, durable queues or authentication,
+ * and heart-beats are declined. Not meant for production traffic.
+ */
+@Slf4j
+public class EmbeddedStompBroker implements SmartLifecycle {
+
+    private final int requestedPort;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private volatile ServerSocket serverSocket;
+
+    public EmbeddedStompBroker(int port) {
+        this.requestedPort = port;
+    }
+
+    /**
+     * The bound port, useful when started on port 0.
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            throw new IllegalStateException("Broker is not running");
+        }
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (serverSocket != null) {
+            return;
+        }
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+            serverSocket = socket;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded STOMP broker on port " + requestedPort, e);
+        }
+        Thread.ofPlatform().daemon().name("stomp-broker-accept").start(this::acceptLoop);
+        log.info("Embedded STOMP broker listening on port {}", getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        if (socket == null) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        connections.forEach(Connection::close);
+        connections.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Before the broker relay, which connects on start
+        return 0;
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try {
+                Connection connection = new Connection(socket.accept());
+                connections.add(connection);
+                Thread.ofPlatform().daemon().name("stomp-broker-conn").start(connection::run);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Embedded STOMP broker failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void publish(Frame send) {
+        String destination = send.headers.get("destination");
+        for (Connection connection : connections) {
+            connection.subscriptions.forEach((subscriptionId, subscribed) -> {
+                if (subscribed.equals(destination)) {
+                    Map<String, String> headers = new LinkedHashMap<>();
+                    headers.put("destination", destination);
+                    headers.put("subscription", subscriptionId);
+                    headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                    String contentType = send.headers.get("content-type");
+                    if (contentType != null) {
+                        headers.put("content-type", contentType);
+                    }
+                    connection.write(new Frame("MESSAGE", headers, send.body));
+                }
+            });
+        }
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+        private final OutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+        }
+
+        void run() {
+            try (InputStream in = new BufferedInputStream(socket.getInputStream())) {
+                Frame frame;
+                while ((frame = Frame.read(in)) != null) {
+                    if (!handle(frame)) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                if (!(e instanceof SocketException) || !socket.isClosed()) {
+                    log.debug("Embedded STOMP broker connection failed", e);
+                }
+            } finally {
+                connections.remove(this);
+                close();
+            }
+        }
+
+        private boolean handle(Frame frame) {
+            String missing = missingHeader(frame);
+            if (missing != null) {
+                write(new Frame("ERROR", Map.of("message", frame.command + " requires the " + missing + " header"), new byte[0]));
+                return false;
+            }
+            switch (frame.command) {
+                case "CONNECT", "STOMP" -> write(new Frame("CONNECTED",
+                        Map.of("version", "1.2", "heart-beat", "0,0", "server", "taskmate-embedded"), new byte[0]));
+                case "SUBSCRIBE" -> subscriptions.put(frame.headers.get("id"), frame.headers.get("destination"));
+                case "UNSUBSCRIBE" -> subscriptions.remove(frame.headers.get("id"));
+                case "SEND" -> publish(frame);
+                case "DISCONNECT" -> {
+                    String receipt = frame.headers.get("receipt");
+                    if (receipt != null) {
+                        write(new Frame("RECEIPT", Map.of("receipt-id", receipt), new byte[0]));
+                    }
+                    return false;
+                }
+                default -> {
+                    write(new Frame("ERROR", Map.of("message", "Unsupported command " + frame.command), new byte[0]));
+                    return false;
+                }
+            }
+            String receipt = frame.headers.get("receipt");
+            if (receipt != null) {
+                write(new Frame("RECEIPT", Map.of("receipt-id", receipt), new byte[0]));
+            }
+            return true;
+        }
+
+        private static String missingHeader(Frame frame) {
+            String[] required = switch (frame.command) {
+                case "SUBSCRIBE" -> new String[] {"id", "destination"};
+                case "UNSUBSCRIBE" -> new String[] {"id"};
+                case "SEND" -> new String[] {"destination"};
+                default -> new String[0];
+            };
+            for (String header : required) {
+                if (frame.headers.get(header) == null) {
+                    return header;
+                }
+            }
+            return null;
+        }
+
+        synchronized void write(Frame frame) {
+            try {
+                frame.writeTo(out);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closing
+            }
+        }
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+
+        /**
+         * Reads one frame, skipping heart-beat EOLs; {@code null} at end of stream.
+         */
+        static Frame read(InputStream in) throws IOException {
+            String command;
+            do {
+                command = readLine(in);
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty());
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    // First occurrence of a repeated header wins
+                    headers.putIfAbsent(unescape(line.substring(0, colon)), unescape(line.substring(colon + 1)));
+                }
+            }
+            if (line == null) {
+                return null;
+            }
+
+            byte[] body;
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body = in.readNBytes(Integer.parseInt(contentLength.trim()));
+                if (in.read() != 0) {
+                    throw new IOException("Frame body not terminated by NUL");
+                }
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                int b;
+                while ((b = in.read()) > 0) {
+                    buffer.write(b);
+                }
+                if (b < 0) {
+                    return null;
+                }
+                body = buffer.toByteArray();
+            }
+            return new Frame(command, headers, body);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            StringBuilder head = new StringBuilder(command).append('\n');
+            headers.forEach((name, value) -> head.append(escape(name)).append(':').append(escape(value)).append('\n'));
+            head.append("content-length:").append(body.length).append("\n\n");
+            out.write(head.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(body);
+            out.write(0);
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return null;
+                }
+                buffer.write(b);
+            }
+            String line = buffer.toString(StandardCharsets.UTF_8);
+            return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\r", "\\r").replace("\n", "\\n").replace(":", "\\c");
+        }
+
+        private static String unescape(String value) {
+            if (value.indexOf('\\') < 0) {
+                return value;
+            }
+            StringBuilder result = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    char next = value.charAt(++i);
+                    result.append(switch (next) {
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        case 'c' -> ':';
+                        default -> next;
+                    });
+                } else {
+                    result.append(c);
+                }
+            }
+            return result.toString();
+        }
+    }
+}
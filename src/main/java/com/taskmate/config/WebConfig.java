@@ -1,25 +1,77 @@
 package com.taskmate.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Static assets are served under content-hash URLs (e.g. {@code /js/app-<md5>.js}), so they can be
+ * cached for a year as immutable: a changed file gets a new URL. The plain URLs still resolve
+ * but their content changes between releases, so they are sent {@code no-cache} and revalidated
+ * against their Last-Modified header instead. The build writes {@code .gz}
+ * siblings next to the text assets and {@link EncodedResourceResolver} serves them to clients
+ * that accept gzip. There are no {@code .br} siblings: the build has no Brotli encoder, and the
+ * resolver falls back to gzip when one is missing.
+ */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final String[] ASSET_PATTERNS = {"/css/**", "/js/**", "/static/**"};
+    // The content version strategy inserts "-<md5>" before the extension
+    private static final Pattern VERSIONED_PATH = Pattern.compile(".*-[0-9a-f]{32}\\.[^/.]+$");
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Serve static resources from /static/ directory
-        registry.addResourceHandler("/css/**")
-                .addResourceLocations("classpath:/static/css/")
-                .setCachePeriod(3600); // Cache for 1 hour
+        addVersioned(registry, "/css/**", "classpath:/static/css/");
+        addVersioned(registry, "/js/**", "classpath:/static/js/");
+        addVersioned(registry, "/static/**", "classpath:/static/");
+    }
 
-        registry.addResourceHandler("/js/**")
-                .addResourceLocations("classpath:/static/js/")
-                .setCachePeriod(3600); // Cache for 1 hour
+    private void addVersioned(ResourceHandlerRegistry registry, String pattern, String location) {
+        registry.addResourceHandler(pattern)
+                .addResourceLocations(location)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    // Set per request rather than on the handler, which cannot tell hashed from plain URLs. A hash
+    // that does not match the file is a 404, so the path alone is enough here.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                CacheControl cacheControl = VERSIONED_PATH.matcher(request.getRequestURI()).matches()
+                        ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                        : CacheControl.noCache();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+                return true;
+            }
+        }).addPathPatterns(ASSET_PATTERNS);
+    }
 
-        registry.addResourceHandler("/static/**")
-                .addResourceLocations("classpath:/static/")
-                .setCachePeriod(3600); // Cache for 1 hour
+    // Rewrites @{/js/app.js} in templates to the versioned URL
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
     }
 }
@@ -1,15 +1,60 @@
 package com.taskmate.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * STOMP over WebSocket. With {@code taskmate.websocket.broker=simple} (default) subscriptions live
+ * in this JVM only. With {@code relay} every node forwards subscriptions and pushes to an external
+ * STOMP broker, so a push from any node reaches subscribers connected to every node.
+ * {@code taskmate.websocket.embedded-broker.enabled=true} starts a minimal broker in this JVM
+ * for trying relay mode locally.
+ *
+ * With {@code spring.threads.virtual.enabled=true} the inbound and outbound client channels run
+ * each message on a virtual thread instead of the default bounded pools.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+    private final String relayVirtualHost;
+    private final boolean virtualThreads;
+
+    public WebSocketConfig(@Value("${taskmate.websocket.broker:simple}") String brokerMode,
+                           @Value("${taskmate.websocket.relay.host:localhost}") String relayHost,
+                           @Value("${taskmate.websocket.relay.port:61613}") int relayPort,
+                           @Value("${taskmate.websocket.relay.login:guest}") String relayLogin,
+                           @Value("${taskmate.websocket.relay.passcode:guest}") String relayPasscode,
+                           @Value("${taskmate.websocket.relay.virtual-host:}") String relayVirtualHost,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+        this.relayVirtualHost = relayVirtualHost;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "taskmate.websocket.embedded-broker.enabled", havingValue = "true")
+    public EmbeddedStompBroker embeddedStompBroker(@Value("${taskmate.websocket.embedded-broker.port:61613}") int port) {
+        return new EmbeddedStompBroker(port);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -17,9 +62,43 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        }
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (virtualThreads) {
+            // An unbounded executor may run two pushes to the same session concurrently
+            registry.setPreservePublishOrder(true);
+        }
+        switch (brokerMode) {
+            case "simple" -> registry.enableSimpleBroker("/topic", "/queue");
+            case "relay" -> {
+                var relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(relayLogin)
+                        .setClientPasscode(relayPasscode)
+                        .setSystemLogin(relayLogin)
+                        .setSystemPasscode(relayPasscode);
+                if (!relayVirtualHost.isBlank()) {
+                    relay.setVirtualHost(relayVirtualHost);
+                }
+            }
+            default -> throw new IllegalStateException(
+                    "Unsupported taskmate.websocket.broker '" + brokerMode + "', expected simple or relay");
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,13 +1,40 @@
 package com.taskmate.controller;
 
+import com.taskmate.dto.BulkTaskItem;
+import com.taskmate.dto.TaskAggregates;
+import com.taskmate.dto.TaskChangeBatch;
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskSearchResult;
+import com.taskmate.dto.TaskThroughput;
+import com.taskmate.dto.TaskView;
 import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.ThroughputResolution;
 import com.taskmate.model.User;
+import com.taskmate.service.TaskAggregateCounters;
+import com.taskmate.service.TaskChangeFeed;
+import com.taskmate.service.TaskExportService;
+import com.taskmate.service.TaskSearchIndex;
 import com.taskmate.service.TaskService;
+import com.taskmate.service.TaskThroughputRollups;
 import com.taskmate.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,18 +44,129 @@ public class AdminController {
 
     private final TaskService taskService;
     private final UserService userService;
+    private final TaskExportService taskExportService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskAggregateCounters taskAggregateCounters;
+    private final TaskThroughputRollups taskThroughputRollups;
+
+    @Value("${taskmate.bulk.max-size:5000}")
+    private int maxBulkSize;
 
     // ✅ Get all tasks
     @GetMapping("")
-    public ResponseEntity<List<Task>> getAllTasks() {
+    public ResponseEntity<List<TaskView>> getAllTasks() {
+        try {
+            HttpHeaders position = ChangeFeedHeaders.of(taskChangeFeed);
+            List<TaskView> tasks = taskService.getAllTasks();
+            return ResponseEntity.ok().headers(position).body(tasks);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // ✅ Get one keyset page of tasks, optionally filtered
+    @GetMapping("/page")
+    public ResponseEntity<TaskPage> getTaskPage(
+            @RequestParam(required = false) Integer assigneeId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDeadline,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Task> tasks = taskService.getAllTasks();
-            return ResponseEntity.ok(tasks);
+            HttpHeaders position = ChangeFeedHeaders.of(taskChangeFeed);
+            TaskPage page = taskService.getTaskPage(TaskPageRequest.builder()
+                    .assigneeId(assigneeId)
+                    .status(status)
+                    .priority(priority)
+                    .deadlineFrom(deadlineFrom)
+                    .deadlineTo(deadlineTo)
+                    .sort(sort)
+                    .afterId(afterId)
+                    .afterDeadline(afterDeadline)
+                    .size(size)
+                    .build());
+            return ResponseEntity.ok().headers(position).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
     }
 
+    // ✅ Dashboard counts from in-memory counters, for everyone or one assignee
+    @GetMapping("/aggregates")
+    public ResponseEntity<TaskAggregates> getAggregates(@RequestParam(required = false) Integer assigneeId) {
+        return ResponseEntity.ok(assigneeId == null
+                ? taskAggregateCounters.global()
+                : taskAggregateCounters.forAssignee(assigneeId));
+    }
+
+    // ✅ Tasks created and completed per minute, hour or day over the last N buckets
+    @GetMapping("/throughput")
+    public ResponseEntity<TaskThroughput> getThroughput(
+            @RequestParam(defaultValue = "DAY") ThroughputResolution resolution,
+            @RequestParam(defaultValue = "30") int last,
+            @RequestParam(required = false) Integer assigneeId) {
+        try {
+            return ResponseEntity.ok(taskThroughputRollups.range(assigneeId, resolution, last));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ✅ Full-text search over title, description and comments; a trailing * matches a prefix
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResult> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(defaultValue = "" + TaskSearchIndex.DEFAULT_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(taskSearchIndex.search(q, status, priority, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ✅ Re-read every task into the search index (after editing the database directly)
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Integer> rebuildSearchIndex() {
+        return ResponseEntity.ok(taskSearchIndex.rebuild());
+    }
+
+    // ✅ Task changes after a sequence number, for clients that missed a WebSocket push
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangeBatch> getChanges(@RequestParam(required = false) String source,
+                                                      @RequestParam long since) {
+        return ResponseEntity.ok(source == null
+                ? taskChangeFeed.since(since, null)
+                : taskChangeFeed.since(source, since, null));
+    }
+
+    // ✅ Stream every task as NDJSON (default) or CSV
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv");
+            response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv\"");
+            Writer writer = new OutputStreamWriter(new BufferedOutputStream(response.getOutputStream()), StandardCharsets.UTF_8);
+            taskExportService.writeCsv(writer);
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            response.setContentType("application/x-ndjson");
+            OutputStream out = new BufferedOutputStream(response.getOutputStream());
+            taskExportService.writeNdjson(out);
+        } else {
+            response.sendError(400, "Unsupported format: " + format);
+        }
+    }
+
     // ✅ Create task for a user
     @PostMapping("/create-task")
     public ResponseEntity<?> createTask(
@@ -36,10 +174,25 @@ public class AdminController {
             @RequestParam Long userId) {
         try {
             Task savedTask = taskService.createTask(task, userId);
-            return ResponseEntity.ok(savedTask);
+            return ResponseEntity.ok(TaskView.from(savedTask));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Failed to create task: " + e.getMessage());
         }
     }
-}
 
+    // ✅ Create many tasks in one transaction
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createTasks(@RequestBody List<BulkTaskItem> tasks) {
+        if (tasks.isEmpty() || tasks.size() > maxBulkSize) {
+            return ResponseEntity.badRequest().body("Send between 1 and " + maxBulkSize + " tasks");
+        }
+        try {
+            List<TaskView> created = taskService.createTasks(tasks).stream()
+                    .map(TaskView::from)
+                    .toList();
+            return ResponseEntity.ok(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Failed to create tasks: " + e.getMessage());
+        }
+    }
+}
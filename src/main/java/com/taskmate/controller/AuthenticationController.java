@@ -5,7 +5,10 @@ import com.taskmate.dto.AuthenticationResponse;
 import com.taskmate.dto.RegisterRequest;
 import com.taskmate.model.Role;
 import com.taskmate.service.impl.AuthenticationService;
+import com.taskmate.security.HashingPoolSaturatedException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +24,8 @@ public class AuthenticationController {
         try {
             AuthenticationResponse response = authService.register(request, Role.ADMIN);
             return ResponseEntity.ok(response);
+        } catch (HashingPoolSaturatedException e) {
+            return tooBusy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -33,6 +38,8 @@ public class AuthenticationController {
         try {
             AuthenticationResponse response = authService.register(request, Role.USER);
             return ResponseEntity.ok(response);
+        } catch (HashingPoolSaturatedException e) {
+            return tooBusy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -45,8 +52,17 @@ public class AuthenticationController {
         try {
             AuthenticationResponse response = authService.authenticate(request);
             return ResponseEntity.ok(response);
+        } catch (HashingPoolSaturatedException e) {
+            return tooBusy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Authentication failed: " + e.getMessage());
         }
     }
+
+    // Password hashing pool is saturated: ask the client to retry shortly
+    private ResponseEntity<String> tooBusy(HashingPoolSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
@@ -0,0 +1,27 @@
+package com.taskmate.controller;
+
+import com.taskmate.service.TaskChangeFeed;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Change feed position sent with task lists and pages, so a client can apply later WebSocket
+ * batches on top of what it loaded and ask {@code /changes} for anything in between.
+ *
+ * Read before the tasks are: changes committed during the query may then be both in the
+ * response and replayed, which clients handle, but none can be missing from both.
+ */
+final class ChangeFeedHeaders {
+
+    static final String SOURCE = "X-Change-Source";
+    static final String SEQ = "X-Change-Seq";
+
+    private ChangeFeedHeaders() {
+    }
+
+    static HttpHeaders of(TaskChangeFeed changeFeed) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SOURCE, changeFeed.getSource());
+        headers.set(SEQ, Long.toString(changeFeed.currentSeq()));
+        return headers;
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmate.controller;
+
+import com.taskmate.service.DemoDataResetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/task/demo")
+@RequiredArgsConstructor
+@Profile("demo")
+public class DemoController {
+
+    private final DemoDataResetService demoDataResetService;
+
+    // ✅ Wipe all demo data now instead of waiting for the scheduled reset
+    @PostMapping("/reset")
+    public ResponseEntity<Void> resetDemoData() {
+        demoDataResetService.resetAllData();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,28 +1,30 @@
 package com.taskmate.controller;
 
-import com.taskmate.service.DemoDataResetService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 public class MainController {
 
-    private final DemoDataResetService demoDataResetService;
+    // The page is static per deployment, so its version is the application start time
+    private final long lastModified;
+    private final String etag;
 
-    public MainController(DemoDataResetService demoDataResetService) {
-        this.demoDataResetService = demoDataResetService;
+    public MainController(ApplicationContext applicationContext) {
+        this.lastModified = applicationContext.getStartupDate();
+        this.etag = "\"" + Long.toHexString(lastModified) + "\"";
     }
 
-    @GetMapping("/")
-    public String index() {
-        // Ensure a fresh start for each new session/visit
-        demoDataResetService.resetAllData();
-        return "index";
-    }
-
-    @GetMapping("/index.html")
-    public String indexHtml() {
-        demoDataResetService.resetAllData();
+    @GetMapping({"/", "/index.html"})
+    public String index(WebRequest request, HttpServletResponse response) {
+        // Browsers revalidate every time and get a 304 until the next deployment
+        response.setHeader("Cache-Control", "no-cache");
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
         return "index";
     }
 }
@@ -1,13 +1,32 @@
 package com.taskmate.controller;
 
+import com.taskmate.dto.TaskAggregates;
+import com.taskmate.dto.TaskChangeBatch;
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskStatusUpdate;
+import com.taskmate.dto.TaskThroughput;
+import com.taskmate.dto.TaskView;
 import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.ThroughputResolution;
 import com.taskmate.model.User;
+import com.taskmate.security.UserPrincipal;
+import com.taskmate.service.TaskAggregateCounters;
+import com.taskmate.service.TaskChangeFeed;
 import com.taskmate.service.TaskService;
+import com.taskmate.service.TaskThroughputRollups;
 import com.taskmate.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,18 +36,88 @@ public class UserController {
 
     private final TaskService taskService;
     private final UserService userService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskAggregateCounters taskAggregateCounters;
+    private final TaskThroughputRollups taskThroughputRollups;
+
+    @Value("${taskmate.bulk.max-size:5000}")
+    private int maxBulkSize;
 
     // ✅ 1. View own tasks
     @GetMapping("/tasks")
-    public ResponseEntity<List<Task>> getUserTasks(@RequestParam String email) {
+    public ResponseEntity<List<TaskView>> getUserTasks(@RequestParam String email) {
         try {
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
-            return ResponseEntity.ok(taskService.getTasksByUser(user));
+            HttpHeaders position = ChangeFeedHeaders.of(taskChangeFeed);
+            return ResponseEntity.ok().headers(position).body(taskService.getTasksByUser(user));
         } catch (Exception e) {
             return ResponseEntity.status(404).build();
         }
     }
+
+    // ✅ 1b. View own tasks one keyset page at a time
+    @GetMapping("/tasks/page")
+    public ResponseEntity<TaskPage> getUserTaskPage(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDeadline,
+            @RequestParam(required = false) Integer size) {
+        try {
+            HttpHeaders position = ChangeFeedHeaders.of(taskChangeFeed);
+            TaskPage page = taskService.getTaskPage(TaskPageRequest.builder()
+                    .assigneeId(principal.id())
+                    .status(status)
+                    .priority(priority)
+                    .deadlineFrom(deadlineFrom)
+                    .deadlineTo(deadlineTo)
+                    .sort(sort)
+                    .afterId(afterId)
+                    .afterDeadline(afterDeadline)
+                    .size(size)
+                    .build());
+            return ResponseEntity.ok().headers(position).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // ✅ 1c. Changes to own tasks after a sequence number
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangeBatch> getUserChanges(@AuthenticationPrincipal UserPrincipal principal,
+                                                          @RequestParam(required = false) String source,
+                                                          @RequestParam long since) {
+        return ResponseEntity.ok(source == null
+                ? taskChangeFeed.since(since, principal.id())
+                : taskChangeFeed.since(source, since, principal.id()));
+    }
+
+    // ✅ 1d. Counts of own tasks by status and priority, and how many are overdue
+    @GetMapping("/aggregates")
+    public ResponseEntity<TaskAggregates> getUserAggregates(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskAggregateCounters.forAssignee(principal.id()));
+    }
+
+    // ✅ 1e. Own tasks created and completed per time bucket
+    @GetMapping("/throughput")
+    public ResponseEntity<TaskThroughput> getUserThroughput(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "DAY") ThroughputResolution resolution,
+            @RequestParam(defaultValue = "30") int last) {
+        try {
+            return ResponseEntity.ok(taskThroughputRollups.range(principal.id(), resolution, last));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/create-user")
     public ResponseEntity<User> createUser(@RequestBody User user) {
         try {
@@ -42,14 +131,30 @@ public class UserController {
 
     // ✅ 2. Update task status (pending, progress, completed)
     @PutMapping("/task/{taskId}")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long taskId, @RequestParam String status) {
+    public ResponseEntity<TaskView> updateTaskStatus(@PathVariable Long taskId, @RequestParam String status) {
         try {
             Task updatedTask = taskService.updateTaskStatus(taskId, status);
-            return ResponseEntity.ok(updatedTask);
+            return ResponseEntity.ok(TaskView.from(updatedTask));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
     }
+
+    // ✅ 3. Update the status of many tasks in one transaction
+    @PutMapping("/tasks/bulk-status")
+    public ResponseEntity<?> updateTaskStatuses(@RequestBody List<TaskStatusUpdate> updates) {
+        if (updates.isEmpty() || updates.size() > maxBulkSize) {
+            return ResponseEntity.badRequest().body("Send between 1 and " + maxBulkSize + " updates");
+        }
+        try {
+            List<TaskView> updated = taskService.updateTaskStatuses(updates).stream()
+                    .map(TaskView::from)
+                    .toList();
+            return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Failed to update tasks: " + e.getMessage());
+        }
+    }
 }
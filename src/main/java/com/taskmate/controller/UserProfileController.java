@@ -3,7 +3,10 @@ package com.taskmate.controller;
 import com.taskmate.dto.UserProfileRequest;
 import com.taskmate.model.User;
 import com.taskmate.service.UserService;
+import com.taskmate.security.HashingPoolSaturatedException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,6 +34,10 @@ public class UserProfileController {
         try {
             User updatedUser = userService.updateProfile(email, request);
             return ResponseEntity.ok(updatedUser);
+        } catch (HashingPoolSaturatedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -0,0 +1,23 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.TaskPriority;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One task of a bulk create request, with the id of the user it is assigned to.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkTaskItem {
+    private String title;
+    private String description;
+    private LocalDate deadline;
+    private TaskPriority priority;
+    private String comments;
+    private Integer assigneeId;
+}
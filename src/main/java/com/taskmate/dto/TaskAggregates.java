@@ -0,0 +1,27 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.TaskStatus;
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Task counts for dashboards, for everyone or for one assignee. Priority keys are
+ * {@link com.taskmate.model.TaskPriority} names, plus {@value #NO_PRIORITY} for tasks without one.
+ * Overdue tasks are those past their deadline that are not completed.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskAggregates {
+
+    public static final String NO_PRIORITY = "NONE";
+
+    private long total;
+    private long overdue;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private Map<TaskStatus, Map<String, Long>> byStatusAndPriority;
+}
@@ -0,0 +1,54 @@
+package com.taskmate.dto;
+
+import com.taskmate.event.TaskChangedEvent;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One entry of the task change feed: the fields of a task that changed, stamped with
+ * the feed's sequence number. A CREATED change carries every field of the task.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED
+    }
+
+    private long seq;
+    private Type type;
+    private Long taskId;
+    private Integer assigneeId;
+    private Map<String, Object> fields;
+
+    public static TaskChange of(TaskChangedEvent event) {
+        TaskView task = event.getTask();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (event.getType() == TaskChangedEvent.Type.CREATED) {
+            fields.put("id", task.getId());
+            fields.put("title", task.getTitle());
+            fields.put("description", task.getDescription());
+            fields.put("deadline", task.getDeadline());
+            fields.put("status", task.getStatus());
+            fields.put("priority", task.getPriority());
+            fields.put("comments", task.getComments());
+            fields.put("assigneeId", task.getAssigneeId());
+            fields.put("assigneeName", task.getAssigneeName());
+        } else {
+            fields.put("status", task.getStatus());
+        }
+        return TaskChange.builder()
+                .type(event.getType() == TaskChangedEvent.Type.CREATED ? Type.CREATED : Type.UPDATED)
+                .taskId(task.getId())
+                .assigneeId(task.getAssigneeId())
+                .fields(fields)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmate.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Changes with {@code fromSeq < seq <= toSeq}. A client that has seen everything up to
+ * {@code fromSeq} or later is current after applying them (skipping any it already has);
+ * a client whose last sequence is below {@code fromSeq} has a gap and should ask for the
+ * changes since its own last sequence. {@code resyncRequired} means part of the range is no
+ * longer retained and the client must reload its task list.
+ *
+ * Sequence numbers are only comparable within one {@code source}: each node (and each restart of
+ * a node) numbers its own changes, so clients track the last sequence per source.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskChangeBatch {
+    private String source;
+    private long fromSeq;
+    private long toSeq;
+    private boolean resyncRequired;
+    private List<TaskChange> changes;
+}
@@ -0,0 +1,18 @@
+package com.taskmate.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskPage {
+    private List<TaskView> items;
+    private boolean hasMore;
+    private Long nextAfterId;
+    private LocalDate nextAfterDeadline;
+}
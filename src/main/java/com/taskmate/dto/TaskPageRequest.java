@@ -0,0 +1,35 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Filters and keyset cursor for one page of tasks. Pages are ordered either by id or by
+ * (deadline, id); the cursor is the {@code afterId}/{@code afterDeadline} of the last row
+ * of the previous page, so every page costs the same no matter how deep it is.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskPageRequest {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private Integer assigneeId;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDate deadlineFrom;
+    private LocalDate deadlineTo;
+
+    /** "id" (default) or "deadline"; deadline ordering only includes tasks that have one. */
+    private String sort;
+    private Long afterId;
+    private LocalDate afterDeadline;
+    private Integer size;
+}
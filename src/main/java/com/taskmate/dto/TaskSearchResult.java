@@ -0,0 +1,25 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Best matches first. {@code total} counts every match for the filters; each facet counts
+ * matches for the text and the other facet's filter, so the client can show what a different
+ * status or priority would return.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskSearchResult {
+    private int total;
+    private List<TaskView> items;
+    private Map<TaskStatus, Integer> statusCounts;
+    private Map<TaskPriority, Integer> priorityCounts;
+}
@@ -0,0 +1,14 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.TaskStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskStatusUpdate {
+    private Long taskId;
+    private TaskStatus status;
+}
@@ -0,0 +1,23 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.ThroughputResolution;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Tasks created and completed per bucket, oldest first. Bucket {@code i} starts at
+ * {@code from + i * bucketSeconds}; the last one is the current, still open bucket.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskThroughput {
+    private ThroughputResolution resolution;
+    private Instant from;
+    private long bucketSeconds;
+    private long[] created;
+    private long[] completed;
+}
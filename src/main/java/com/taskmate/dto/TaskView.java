@@ -0,0 +1,42 @@
+package com.taskmate.dto;
+
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a task with only the assignee's id and name.
+ * Selected directly by JPQL constructor expressions, so no Task or User entities are loaded.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskView {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate deadline;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private String comments;
+    private Integer assigneeId;
+    private String assigneeName;
+
+    public static TaskView from(Task task) {
+        return new TaskView(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDeadline(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getComments(),
+                task.getAssignedTo() != null ? task.getAssignedTo().getId() : null,
+                task.getAssignedTo() != null ? task.getAssignedTo().getName() : null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmate.event;
+
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the task service inside its transaction. Listeners that push state
+ * elsewhere should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final TaskView task;
+    /** Status before the change; null for {@link Type#CREATED}. */
+    private final TaskStatus previousStatus;
+}
@@ -0,0 +1,6 @@
+package com.taskmate.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    FAILED
+}
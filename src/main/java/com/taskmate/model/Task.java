@@ -2,18 +2,27 @@ package com.taskmate.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination: each index ends in id so (filter, cursor) is a range scan
+        @Index(name = "idx_tasks_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_status_priority", columnList = "status, priority, id"),
+        @Index(name = "idx_tasks_deadline", columnList = "deadline, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Task {
 
+    // Pooled sequence: ids are handed out 50 at a time, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -31,8 +40,16 @@ public class Task {
     @Column(columnDefinition = "TEXT")
     private String comments;
 
+    // Set by the task service; empty for tasks created before these columns existed
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // When the task last moved to COMPLETED; cleared if it is reopened
+    private Instant completedAt;
+
     // 👇 Link to the User (assigned user)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User assignedTo;
 }
@@ -0,0 +1,43 @@
+package com.taskmate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Persisted count of one throughput bucket, written periodically from the in-memory rollups.
+ */
+@Entity
+@Table(name = "task_throughput_buckets", indexes = {
+        @Index(name = "uk_task_throughput_buckets", columnList = "resolution, bucket, series, assignee_id", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskThroughputBucket {
+
+    public static final int ALL_ASSIGNEES = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_throughput_buckets_seq")
+    @SequenceGenerator(name = "task_throughput_buckets_seq", sequenceName = "task_throughput_buckets_seq", allocationSize = 50)
+    private Long id;
+
+    // ALL_ASSIGNEES for the counts across everyone
+    @Column(name = "assignee_id", nullable = false)
+    private int assigneeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ThroughputSeries series;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ThroughputResolution resolution;
+
+    @Column(nullable = false)
+    private long bucket;
+
+    @Column(name = "task_count", nullable = false)
+    private long count;
+}
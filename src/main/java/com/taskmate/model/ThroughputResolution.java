@@ -0,0 +1,27 @@
+package com.taskmate.model;
+
+import java.time.Duration;
+
+/**
+ * Bucket widths of the throughput rollups. Buckets are aligned to the epoch, so days run
+ * from midnight to midnight UTC.
+ */
+public enum ThroughputResolution {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final long seconds;
+
+    ThroughputResolution(Duration width) {
+        this.seconds = width.toSeconds();
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+
+    public long bucketOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, seconds);
+    }
+}
@@ -8,12 +8,16 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_token_user_id", columnList = "user_id")
+})
 public class Token {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // TokenDigest of the JWT, never the bearer token itself
     @Column(unique = true)
     private String token;
 
@@ -0,0 +1,32 @@
+package com.taskmate.repository;
+
+import com.taskmate.model.EmailOutbox;
+import com.taskmate.model.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("select e from EmailOutbox e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<EmailOutbox> findDue(@Param("status") EmailOutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Rows of the given recipients that may join a digest: due ones, and ones never attempted
+     * that are still inside their digest window. Rows waiting out a retry backoff are left out.
+     */
+    @Query("select e from EmailOutbox e where e.status = :status and e.recipient in :recipients"
+            + " and e.id not in :excludedIds and (e.nextAttemptAt <= :now or e.attempts = 0) order by e.id")
+    List<EmailOutbox> findDigestRows(@Param("status") EmailOutboxStatus status,
+                                     @Param("recipients") Collection<String> recipients,
+                                     @Param("excludedIds") Collection<Long> excludedIds,
+                                     @Param("now") Instant now,
+                                     Pageable pageable);
+
+    long countByStatus(EmailOutboxStatus status);
+}
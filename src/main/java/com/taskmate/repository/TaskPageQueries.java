@@ -0,0 +1,19 @@
+package com.taskmate.repository;
+
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskView;
+
+import java.util.List;
+
+/**
+ * Keyset pages of tasks. Only the filters and cursor a request sets become predicates, so each
+ * filter shape reaches the database as a plain condition that can use the matching index.
+ */
+public interface TaskPageQueries {
+
+    /**
+     * Up to {@code limit} rows after the request's cursor, ordered by id, or by (deadline, id)
+     * over tasks that have a deadline. The caller checks the cursor is complete.
+     */
+    List<TaskView> findPage(TaskPageRequest request, boolean byDeadline, int limit);
+}
@@ -0,0 +1,74 @@
+package com.taskmate.repository;
+
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class TaskPageQueriesImpl implements TaskPageQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findPage(TaskPageRequest request, boolean byDeadline, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> t = query.from(Task.class);
+        Join<Task, User> u = t.join("assignedTo", JoinType.LEFT);
+        // Same projection as TaskRepository.VIEW_SELECT
+        query.select(cb.construct(TaskView.class, t.get("id"), t.get("title"), t.get("description"),
+                t.get("deadline"), t.get("status"), t.get("priority"), t.get("comments"), u.get("id"), u.get("name")));
+
+        Path<Long> id = t.get("id");
+        Path<LocalDate> deadline = t.get("deadline");
+        List<Predicate> where = new ArrayList<>();
+        if (byDeadline) {
+            where.add(cb.isNotNull(deadline));
+            if (request.getAfterDeadline() != null) {
+                where.add(cb.or(
+                        cb.greaterThan(deadline, request.getAfterDeadline()),
+                        cb.and(cb.equal(deadline, request.getAfterDeadline()), cb.greaterThan(id, request.getAfterId()))));
+            }
+        } else if (request.getAfterId() != null) {
+            where.add(cb.greaterThan(id, request.getAfterId()));
+        }
+        if (request.getAssigneeId() != null) {
+            // The foreign key column itself, not the joined user's id
+            where.add(cb.equal(t.get("assignedTo").get("id"), request.getAssigneeId()));
+        }
+        if (request.getStatus() != null) {
+            where.add(cb.equal(t.<TaskStatus>get("status"), request.getStatus()));
+        }
+        if (request.getPriority() != null) {
+            where.add(cb.equal(t.<TaskPriority>get("priority"), request.getPriority()));
+        }
+        if (request.getDeadlineFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(deadline, request.getDeadlineFrom()));
+        }
+        if (request.getDeadlineTo() != null) {
+            where.add(cb.lessThanOrEqualTo(deadline, request.getDeadlineTo()));
+        }
+
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(byDeadline ? List.of(cb.asc(deadline), cb.asc(id)) : List.of(cb.asc(id)));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,11 +1,61 @@
 package com.taskmate.repository;
 
+import com.taskmate.dto.TaskView;
 import com.taskmate.model.Task;
-import com.taskmate.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByAssignedTo(User user);
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskPageQueries {
+
+    // Projection used by every list path: only the assignee's id and name are read
+    String VIEW_SELECT = "select new com.taskmate.dto.TaskView(t.id, t.title, t.description, t.deadline, "
+            + "t.status, t.priority, t.comments, u.id, u.name) "
+            + "from Task t left join t.assignedTo u ";
+
+    // Entity reads fetch the assignee in the same statement instead of one select per user
+    @Query("select t from Task t left join fetch t.assignedTo where t.id = :id")
+    Optional<Task> findWithAssigneeById(@Param("id") Long id);
+
+    @Query("select t from Task t left join fetch t.assignedTo where t.id in :ids")
+    List<Task> findAllWithAssigneeByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "order by t.id")
+    List<TaskView> findAllViews();
+
+    @Query(VIEW_SELECT + "where u.id = :assigneeId order by t.id")
+    List<TaskView> findViewsByAssigneeId(@Param("assigneeId") Integer assigneeId);
+
+    @Query(VIEW_SELECT + "where t.id in :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Must be consumed inside a read-only transaction and closed afterwards
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "order by t.id")
+    Stream<TaskView> streamAllViews();
+
+    // Rows of (assigneeId, status, priority, count), used to reconcile the aggregate counters
+    @Query("select u.id, t.status, t.priority, count(t) from Task t left join t.assignedTo u "
+            + "group by u.id, t.status, t.priority")
+    List<Object[]> countByAssigneeStatusAndPriority();
+
+    // Rows of (assigneeId, deadline, count) for tasks that are not completed
+    @Query("select u.id, t.deadline, count(t) from Task t left join t.assignedTo u "
+            + "where t.deadline is not null "
+            + "and (t.status is null or t.status <> com.taskmate.model.TaskStatus.COMPLETED) "
+            + "group by u.id, t.deadline")
+    List<Object[]> countOpenByAssigneeAndDeadline();
 }
@@ -0,0 +1,22 @@
+package com.taskmate.repository;
+
+import com.taskmate.model.TaskThroughputBucket;
+import com.taskmate.model.ThroughputResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskThroughputBucketRepository extends JpaRepository<TaskThroughputBucket, Long> {
+
+    List<TaskThroughputBucket> findByResolutionAndBucketGreaterThanEqual(ThroughputResolution resolution, long bucket);
+
+    List<TaskThroughputBucket> findByResolutionAndBucketIn(ThroughputResolution resolution, Collection<Long> buckets);
+
+    @Modifying
+    @Query("delete from TaskThroughputBucket b where b.resolution = :resolution and b.bucket < :bucket")
+    int deleteOlderThan(@Param("resolution") ThroughputResolution resolution, @Param("bucket") long bucket);
+}
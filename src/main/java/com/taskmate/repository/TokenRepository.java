@@ -2,10 +2,30 @@ package com.taskmate.repository;
 
 import com.taskmate.model.Token;
 import com.taskmate.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 public interface TokenRepository extends JpaRepository<Token, Long> {
 
     List<Token> findAllByUser(User user);
+
+    @Transactional
+    @Modifying
+    @Query("update Token t set t.expired = true, t.revoked = true "
+            + "where t.user = :user and (t.expired = false or t.revoked = false)")
+    int revokeAllByUser(@Param("user") User user);
+
+    @Transactional
+    @Modifying
+    @Query("update Token t set t.expired = true, t.revoked = true where t.expired = false or t.revoked = false")
+    int revokeAll();
+
+    @Query("select t.id from Token t where t.expired = true or t.revoked = true order by t.id")
+    List<Long> findDeadTokenIds(Pageable pageable);
 }
@@ -3,10 +3,32 @@ package com.taskmate.repository;
 import com.taskmate.model.Role;
 import com.taskmate.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     long countByRole(Role role);
+
+    @Query("select u from User u where u.id in :ids")
+    List<User> findAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    int findTokenVersionById(@Param("id") Integer id);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Integer id);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1")
+    int incrementAllTokenVersions();
 }
@@ -0,0 +1,92 @@
+package com.taskmate.security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map that stays within a maximum size. Reads and writes do not lock; once full,
+ * a put first drops the entries the owner considers stale, then the least recently used tenth.
+ */
+final class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        volatile long lastUsed;
+
+        Entry(V value, long now) {
+            this.value = value;
+            this.lastUsed = now;
+        }
+    }
+
+    private record Used<K, V>(K key, Entry<V> entry, long lastUsed) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Predicate<V> isStale;
+
+    BoundedCache(int maxSize, Predicate<V> isStale) {
+        this.maxSize = maxSize;
+        this.isStale = isStale;
+    }
+
+    /**
+     * Returns the cached value, stale or not, and marks it as used.
+     */
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastUsed = System.currentTimeMillis();
+        return entry.value;
+    }
+
+    void put(K key, V value) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the entry only if it still holds this value, so a newer put is kept.
+     */
+    void remove(K key, V value) {
+        entries.computeIfPresent(key, (k, entry) -> entry.value == value ? null : entry);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> isStale.test(entry.value));
+        if (entries.size() < maxSize) {
+            return;
+        }
+        // lastUsed keeps changing under concurrent hits, so sort on a copy of it
+        List<Used<K, V>> used = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> used.add(new Used<>(key, entry, entry.lastUsed)));
+        used.sort(Comparator.comparingLong(Used::lastUsed));
+        for (Used<K, V> oldest : used.subList(0, Math.max(1, used.size() / 10))) {
+            entries.remove(oldest.key(), oldest.entry());
+        }
+    }
+}
@@ -4,20 +4,34 @@ import com.taskmate.model.User;
 import com.taskmate.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserPrincipalCache userPrincipalCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        return userPrincipalCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return user;
+    }
+
+    /**
+     * Called after a successful login whose stored hash is outdated (legacy format or lower cost).
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails principal, String newPassword) {
+        User user = userRepository.findByEmail(principal.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + principal.getUsername()));
+        user.setPassword(newPassword);
+        User saved = userRepository.save(user);
+        userPrincipalCache.invalidate(saved.getEmail());
+        return UserPrincipal.of(saved);
     }
 }
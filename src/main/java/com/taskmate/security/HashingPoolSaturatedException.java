@@ -0,0 +1,12 @@
+package com.taskmate.security;
+
+/**
+ * Thrown when the password hashing pool cannot take more work; callers should answer
+ * 429 so clients back off instead of queueing more CPU-bound hashing.
+ */
+public class HashingPoolSaturatedException extends RuntimeException {
+
+    public HashingPoolSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,11 @@
 package com.taskmate.security;
 
-import com.taskmate.repository.TokenRepository;
-import com.taskmate.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,12 +15,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenStore tokenStore;
+
+    private final Timer parseTimer;
+    private final Timer tokenCheckTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserPrincipalCache userPrincipalCache,
+                                   TokenStore tokenStore,
+                                   MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenStore = tokenStore;
+        this.parseTimer = Timer.builder("taskmate.auth.jwt.parse")
+                .description("Reading the subject from the bearer token")
+                .register(meterRegistry);
+        // Goes to the database on a cache miss
+        this.tokenCheckTimer = Timer.builder("taskmate.auth.token.check")
+                .description("Checking the token has not been revoked")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -55,16 +72,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7); // remove "Bearer "
-        userEmail = jwtService.extractUsername(jwt);
+        userEmail = parseTimer.record(() -> jwtService.extractUsername(jwt));
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var user = userRepository.findByEmail(userEmail)
-                    .orElse(null);
-
-            if (user != null) {
-                var isTokenValid = tokenRepository.findAllByUser(user).stream()
-                        .anyMatch(token -> !token.isExpired() && !token.isRevoked() && token.getToken().equals(jwt));
+            var user = userPrincipalCache.findByEmail(userEmail).orElse(null);
 
+            if (user != null && tokenCheckTimer.record(() -> tokenStore.isTokenActive(jwt, user))) {
                 if (jwtService.isTokenValid(jwt, user)) {
                     var authToken = new UsernamePasswordAuthenticationToken(
                             user,
@@ -1,9 +1,13 @@
 package com.taskmate.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,19 +17,55 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-    
-    @Value("${jwt.expiration}")
-    private long expiration;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final long expiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // Verified claims by token digest, so a token's signature is checked once rather than on every call.
+    // When full, expired claims go first, then the least recently used tenth.
+    private final BoundedCache<String, Claims> claimsCache;
+    private final int claimsCacheMaxSize;
+
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+    private final Counter claimsCacheHits;
+    private final Counter claimsCacheMisses;
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expiration,
+                      @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize,
+                      MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.claimsCache = new BoundedCache<>(claimsCacheMaxSize, JwtService::isExpired);
+        this.claimsCacheMaxSize = claimsCacheMaxSize;
+        this.verifiedTimer = verifyTimer(meterRegistry, "valid");
+        this.rejectedTimer = verifyTimer(meterRegistry, "invalid");
+        this.claimsCacheHits = claimsCacheCounter(meterRegistry, "hit");
+        this.claimsCacheMisses = claimsCacheCounter(meterRegistry, "miss");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("taskmate.jwt.verify")
+                .description("Signature check and claims parsing of a token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter claimsCacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("taskmate.jwt.claims.cache")
+                .description("Claims lookups answered from the verified claims cache, or not")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     public String extractUsername(String token) {
@@ -38,34 +78,66 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (claimsCacheMaxSize <= 0) {
+            return verify(token);
+        }
+
+        String digest = TokenDigest.of(token);
+        Claims cached = claimsCache.get(digest);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                claimsCacheHits.increment();
+                return cached;
+            }
+            // Re-parse so an expired token fails exactly as it would without the cache
+            claimsCache.remove(digest);
+        }
+
+        claimsCacheMisses.increment();
+        Claims claims = verify(token);
+        claimsCache.put(digest, claims);
+        return claims;
+    }
+
+    private Claims verify(String token) {
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            valid = true;
+            return claims;
+        } finally {
+            (valid ? verifiedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int claimsCacheSize() {
+        return claimsCache.size();
     }
 
     public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
+        return generateToken(username, null, Map.of());
+    }
+
+    public String generateToken(String username, String tokenId, Map<String, Object> extraClaims) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(tokenId)
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.before(new Date());
     }
 }
@@ -0,0 +1,54 @@
+package com.taskmate.security;
+
+import com.taskmate.model.Token;
+import com.taskmate.model.User;
+import com.taskmate.repository.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "taskmate.auth.token-mode", havingValue = "persisted", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PersistedTokenStore implements TokenStore {
+
+    private final TokenRepository tokenRepository;
+    private final TokenValidityIndex tokenValidityIndex;
+    private final JwtService jwtService;
+
+    @Override
+    public String issueToken(User user) {
+        // jti keeps tokens issued within the same second distinct under the unique constraint
+        String jwtToken = jwtService.generateToken(user.getEmail(), UUID.randomUUID().toString(), Map.of());
+        // The row keeps the fixed-length digest: the JWT grows with the email and would overflow the column
+        Token token = Token.builder()
+                .user(user)
+                .token(TokenDigest.of(jwtToken))
+                .expired(false)
+                .revoked(false)
+                .build();
+        tokenRepository.save(token);
+        tokenValidityIndex.markActive(jwtToken, user.getId());
+        return jwtToken;
+    }
+
+    @Override
+    public void revokeAllTokens(User user) {
+        tokenRepository.revokeAllByUser(user);
+        tokenValidityIndex.revokeAll(user.getId());
+    }
+
+    @Override
+    public void revokeAllTokens() {
+        tokenRepository.revokeAll();
+        tokenValidityIndex.clear();
+    }
+
+    @Override
+    public boolean isTokenActive(String jwt, UserPrincipal principal) {
+        return tokenValidityIndex.isActive(jwt, principal.id());
+    }
+}
@@ -1,9 +1,10 @@
 package com.taskmate.security;
 
-import com.taskmate.repository.TokenRepository;
-import com.taskmate.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,22 +13,27 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenStore tokenStore;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userRepository, tokenRepository);
+        return new JwtAuthenticationFilter(jwtService, userPrincipalCache, tokenStore, meterRegistry);
     }
 
     @Bean
@@ -59,8 +65,42 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * New hashes are {@code {bcrypt}} at the configured cost; existing hashes without a prefix are
+     * plain BCrypt. Either kind is rehashed on the next successful login when it is out of date
+     * (see {@link CustomUserDetailsService#updatePassword}). All hashing runs on a bounded pool.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${taskmate.password.bcrypt-cost:10}") int bcryptCost,
+            @Value("${taskmate.password.bcrypt-target-ms:0}") long bcryptTargetMs,
+            @Value("${taskmate.password.pool-size:0}") int poolSize,
+            @Value("${taskmate.password.queue-capacity:100}") int queueCapacity,
+            @Value("${taskmate.password.timeout-ms:5000}") long timeoutMs) {
+        int cost = bcryptTargetMs > 0 ? calibrateBcryptCost(bcryptCost, bcryptTargetMs) : bcryptCost;
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(cost)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        log.info("Password hashing: bcrypt cost {}, {} threads, queue {}", cost, threads, queueCapacity);
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, timeoutMs);
+    }
+
+    /**
+     * Highest cost from {@code minCost} up whose hash still takes at most {@code targetMs} on this
+     * machine; never below {@code minCost}.
+     */
+    static int calibrateBcryptCost(int minCost, long targetMs) {
+        int cost = minCost;
+        while (cost < 16) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost + 1).encode("calibration");
+            if ((System.nanoTime() - start) / 1_000_000 > targetMs) {
+                break;
+            }
+            cost++;
+        }
+        return cost;
     }
 }
@@ -0,0 +1,71 @@
+package com.taskmate.security;
+
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tokens carry a {@code jti} and the user's {@code ver} (token version) at issue time.
+ * A token is active while its version matches the user's current one, so revoking is
+ * a single counter bump and validating needs only the (cached) user.
+ *
+ * Every bump drops the cached principal in the same call, so older tokens stop working
+ * straight away rather than when the cache entry expires. Inside a transaction the entry is
+ * dropped again after commit, since a concurrent request may re-cache the old version until then.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmate.auth.token-mode", havingValue = "stateless")
+@RequiredArgsConstructor
+public class StatelessTokenStore implements TokenStore {
+
+    static final String VERSION_CLAIM = "ver";
+
+    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final JwtService jwtService;
+
+    @Override
+    public String issueToken(User user) {
+        int version = userRepository.findTokenVersionById(user.getId());
+        return jwtService.generateToken(user.getEmail(), UUID.randomUUID().toString(),
+                Map.of(VERSION_CLAIM, version));
+    }
+
+    @Override
+    public void revokeAllTokens(User user) {
+        userRepository.incrementTokenVersion(user.getId());
+        userPrincipalCache.invalidate(user.getEmail());
+        afterCommit(() -> userPrincipalCache.invalidate(user.getEmail()));
+    }
+
+    @Override
+    public void revokeAllTokens() {
+        userRepository.incrementAllTokenVersions();
+        userPrincipalCache.clear();
+        afterCommit(userPrincipalCache::clear);
+    }
+
+    @Override
+    public boolean isTokenActive(String jwt, UserPrincipal principal) {
+        Integer version = jwtService.extractClaim(jwt, claims -> claims.get(VERSION_CLAIM, Integer.class));
+        return version != null && version == principal.tokenVersion();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
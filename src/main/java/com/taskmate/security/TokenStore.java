@@ -0,0 +1,22 @@
+package com.taskmate.security;
+
+import com.taskmate.model.User;
+
+/**
+ * Issues and revokes access tokens. Selected with {@code taskmate.auth.token-mode}:
+ * {@code persisted} (default) stores every token in the token table,
+ * {@code stateless} stores nothing per token and revokes by bumping the user's token version.
+ */
+public interface TokenStore {
+
+    String issueToken(User user);
+
+    void revokeAllTokens(User user);
+
+    /**
+     * Revokes every token of every user, used on startup.
+     */
+    void revokeAllTokens();
+
+    boolean isTokenActive(String jwt, UserPrincipal principal);
+}
@@ -0,0 +1,45 @@
+package com.taskmate.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of which issued tokens are still active, keyed by {@link TokenDigest}.
+ * Kept in sync by {@code AuthenticationService} whenever a token is saved or a user's
+ * tokens are revoked, so {@link JwtAuthenticationFilter} can check a token without
+ * touching the token table.
+ *
+ * Revoked tokens are simply removed, so the index only ever holds live tokens. It starts
+ * empty, which matches the database: every token is revoked on startup.
+ */
+@Component
+public class TokenValidityIndex {
+
+    private final Map<String, Integer> activeTokens = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    public void markActive(String token, Integer userId) {
+        String digest = TokenDigest.of(token);
+        tokensByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(digest);
+        activeTokens.put(digest, userId);
+    }
+
+    public boolean isActive(String token, Integer userId) {
+        return userId != null && userId.equals(activeTokens.get(TokenDigest.of(token)));
+    }
+
+    public void revokeAll(Integer userId) {
+        Set<String> digests = tokensByUser.remove(userId);
+        if (digests != null) {
+            digests.forEach(activeTokens::remove);
+        }
+    }
+
+    public void clear() {
+        activeTokens.clear();
+        tokensByUser.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskmate.security;
+
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Immutable snapshot of the fields authentication needs from a {@link User}. This, not the
+ * entity, is what {@link UserPrincipalCache} shares across request threads and what ends up
+ * as the authenticated principal.
+ */
+public record UserPrincipal(Integer id, String email, Role role, String password, int tokenVersion)
+        implements UserDetails {
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRole(), user.getPassword(), user.getTokenVersion());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role == null ? Collections.emptySet() : Collections.singleton(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        // Keeps the password hash out of logs
+        return "UserPrincipal[id=" + id + ", email=" + email + ", role=" + role + ", tokenVersion=" + tokenVersion + "]";
+    }
+}
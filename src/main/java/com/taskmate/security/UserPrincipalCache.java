@@ -0,0 +1,106 @@
+package com.taskmate.security;
+
+import com.taskmate.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of {@link UserPrincipal} snapshots, so the JWT filter and login do not hit
+ * the users table on every request. Entries are immutable, so request threads can share them.
+ * When the cache is full the least recently used tenth is evicted.
+ *
+ * Anything that changes a user's email, password, role or token version must call
+ * {@link #invalidate} with every email the user was cached under (or {@link #clear}) so a
+ * stale principal is never served.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final BoundedCache<String, Entry> byEmail;
+    // Bumped by every invalidation, so a lookup that raced one does not cache what it read
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Timer loadTimer;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${taskmate.user-cache.ttl-seconds:60}") long ttlSeconds,
+                              @Value("${taskmate.user-cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+        this.byEmail = new BoundedCache<>(maxSize, entry -> entry.isExpired(System.currentTimeMillis()));
+        // Misses only: a hit never leaves memory
+        this.loadTimer = Timer.builder("taskmate.auth.user.lookup")
+                .description("Loading a user from the database on a principal cache miss")
+                .register(meterRegistry);
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("taskmate.user.cache")
+                .description("Principal lookups answered from the user cache, or not")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = byEmail.get(email);
+        if (entry != null && !entry.isExpired(now)) {
+            hits.increment();
+            return Optional.of(entry.principal());
+        }
+        misses.increment();
+        long seenInvalidations = invalidations.get();
+        Optional<UserPrincipal> principal = loadTimer.record(() -> userRepository.findByEmail(email).map(UserPrincipal::of));
+        principal.ifPresent(found -> put(found, seenInvalidations));
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        invalidations.incrementAndGet();
+        byEmail.remove(email);
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        byEmail.clear();
+    }
+
+    int size() {
+        return byEmail.size();
+    }
+
+    private void put(UserPrincipal principal, long seenInvalidations) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return;
+        }
+        Entry entry = new Entry(principal, System.currentTimeMillis() + ttlMillis);
+        byEmail.put(principal.email(), entry);
+        if (invalidations.get() != seenInvalidations) {
+            // Read before an invalidation finished: drop it rather than serve it for a whole TTL
+            byEmail.remove(principal.email(), entry);
+        }
+    }
+}
@@ -1,31 +1,79 @@
 package com.taskmate.service;
 
+import com.taskmate.repository.EmailOutboxRepository;
 import com.taskmate.repository.TaskRepository;
+import com.taskmate.repository.TaskThroughputBucketRepository;
 import com.taskmate.repository.TokenRepository;
 import com.taskmate.repository.UserRepository;
+import com.taskmate.security.TokenValidityIndex;
+import com.taskmate.security.UserPrincipalCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Wipes all users, tasks and tokens for the public demo. Only exists with the {@code demo}
+ * profile, where it runs on {@code taskmate.demo.reset-cron} and on demand through
+ * {@code POST /api/task/demo/reset}.
+ */
 @Service
+@Profile("demo")
+@Slf4j
 public class DemoDataResetService {
 
     private final TaskRepository taskRepository;
     private final TokenRepository tokenRepository;
     private final UserRepository userRepository;
+    private final TokenValidityIndex tokenValidityIndex;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TaskChangeFeed taskChangeFeed;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskAggregateCounters taskAggregateCounters;
+    private final TaskThroughputBucketRepository taskThroughputBucketRepository;
+    private final TaskThroughputRollups taskThroughputRollups;
 
     public DemoDataResetService(TaskRepository taskRepository,
                                 TokenRepository tokenRepository,
-                                UserRepository userRepository) {
+                                UserRepository userRepository,
+                                TokenValidityIndex tokenValidityIndex,
+                                UserPrincipalCache userPrincipalCache,
+                                TaskChangeFeed taskChangeFeed,
+                                EmailOutboxRepository emailOutboxRepository,
+                                TaskSearchIndex taskSearchIndex,
+                                TaskAggregateCounters taskAggregateCounters,
+                                TaskThroughputBucketRepository taskThroughputBucketRepository,
+                                TaskThroughputRollups taskThroughputRollups) {
         this.taskRepository = taskRepository;
         this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
+        this.tokenValidityIndex = tokenValidityIndex;
+        this.userPrincipalCache = userPrincipalCache;
+        this.taskChangeFeed = taskChangeFeed;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskAggregateCounters = taskAggregateCounters;
+        this.taskThroughputBucketRepository = taskThroughputBucketRepository;
+        this.taskThroughputRollups = taskThroughputRollups;
     }
 
+    @Scheduled(cron = "${taskmate.demo.reset-cron:0 0 * * * *}")
     @Transactional
     public void resetAllData() {
+        log.info("Resetting demo data");
         // Order matters due to FK constraints
+        emailOutboxRepository.deleteAllInBatch();
+        taskThroughputBucketRepository.deleteAllInBatch();
         taskRepository.deleteAllInBatch();
         tokenRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
+        tokenValidityIndex.clear();
+        userPrincipalCache.clear();
+        taskChangeFeed.clear();
+        taskSearchIndex.clear();
+        taskAggregateCounters.clear();
+        taskThroughputRollups.clear();
     }
 }
@@ -0,0 +1,295 @@
+package com.taskmate.service;
+
+import com.taskmate.model.EmailOutbox;
+import com.taskmate.model.EmailOutboxStatus;
+import com.taskmate.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox on its own single thread. Each run takes up to
+ * {@code taskmate.mail.outbox.batch-size} due rows, limited to
+ * {@code taskmate.mail.outbox.rate-per-second}, and sends them over one SMTP connection.
+ * Delivered rows are deleted; failed ones are retried with exponential backoff until
+ * {@code max-attempts}, then kept as {@link EmailOutboxStatus#FAILED}.
+ *
+ * In digest mode ({@code taskmate.mail.digest.enabled}) rows are queued one window after the
+ * assignment, and when a recipient's first row falls due every pending row for that recipient is
+ * sent as one summary email.
+ *
+ * Run the worker on one node only ({@code taskmate.mail.outbox.worker-enabled}) when several
+ * nodes share a database, otherwise rows may be sent twice.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "taskmate.mail.outbox.worker-enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxWorker {
+
+    private static final int DIGEST_MAX_LISTED = 50;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final String fromAddress;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final double ratePerSecond;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final boolean digestEnabled;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    private final Timer sendTimer;
+    private final Counter sentRows;
+    private final Counter retriedRows;
+    private final Counter failedRows;
+
+    // Token bucket: refilled at ratePerSecond, holding at most one second's worth
+    private double permits;
+    private long refilledAt = System.nanoTime();
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+                             JavaMailSender javaMailSender,
+                             @Value("${spring.mail.username:}") String fromAddress,
+                             @Value("${taskmate.mail.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                             @Value("${taskmate.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${taskmate.mail.outbox.rate-per-second:10}") double ratePerSecond,
+                             @Value("${taskmate.mail.outbox.max-attempts:5}") int maxAttempts,
+                             @Value("${taskmate.mail.outbox.backoff-initial-ms:30000}") long backoffInitialMs,
+                             @Value("${taskmate.mail.outbox.backoff-max-ms:3600000}") long backoffMaxMs,
+                             @Value("${taskmate.mail.digest.enabled:false}") boolean digestEnabled,
+                             MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.fromAddress = fromAddress;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.digestEnabled = digestEnabled;
+        this.permits = Math.max(ratePerSecond, 1);
+        this.sendTimer = Timer.builder("taskmate.mail.send")
+                .description("Sending one batch of emails over a single SMTP connection")
+                .register(meterRegistry);
+        this.sentRows = outboxRowCounter(meterRegistry, "sent");
+        this.retriedRows = outboxRowCounter(meterRegistry, "retried");
+        this.failedRows = outboxRowCounter(meterRegistry, "failed");
+    }
+
+    private static Counter outboxRowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("taskmate.mail.outbox.rows")
+                .description("Outbox rows delivered, scheduled for a retry, or given up on")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (fromAddress == null || fromAddress.isBlank()) {
+            log.info("Email outbox worker idle: spring.mail.username is not configured");
+            return;
+        }
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("email-outbox-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::drainSafely, Duration.ofMillis(pollIntervalMs));
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.warn("Email outbox run failed", e);
+        }
+    }
+
+    /**
+     * Sends one batch of due emails and returns how many outbox rows were delivered.
+     */
+    public synchronized int drain() {
+        int budget = Math.min(batchSize, availablePermits());
+        if (budget == 0) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        List<EmailOutbox> due = emailOutboxRepository.findDue(
+                EmailOutboxStatus.PENDING, now, PageRequest.of(0, budget));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<List<EmailOutbox>> groups = digestEnabled ? groupByRecipient(due, now) : singletons(due);
+        permits -= groups.size();
+
+        Map<MimeMessage, List<EmailOutbox>> messages = new IdentityHashMap<>();
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+        for (List<EmailOutbox> group : groups) {
+            try {
+                messages.put(group.size() == 1 ? compose(group.get(0)) : composeDigest(group), group);
+            } catch (MessagingException e) {
+                group.forEach(email -> failures.put(email, e));
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                // One connection for the whole batch
+                javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(group -> group.forEach(email -> failures.put(email, e)));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) ->
+                            messages.get(message).forEach(email -> failures.put(email, cause)));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(group -> group.forEach(email -> failures.put(email, e)));
+            }
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        for (List<EmailOutbox> group : groups) {
+            for (EmailOutbox email : group) {
+                if (!failures.containsKey(email)) {
+                    sentIds.add(email.getId());
+                }
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.deleteAllByIdInBatch(sentIds);
+            sentRows.increment(sentIds.size());
+        }
+        if (!failures.isEmpty()) {
+            failures.forEach(this::recordFailure);
+            emailOutboxRepository.saveAll(failures.keySet());
+        }
+        return sentIds.size();
+    }
+
+    private static List<List<EmailOutbox>> singletons(List<EmailOutbox> due) {
+        List<List<EmailOutbox>> groups = new ArrayList<>(due.size());
+        due.forEach(email -> groups.add(List.of(email)));
+        return groups;
+    }
+
+    /**
+     * The due rows grouped by recipient, joined by that recipient's rows still inside their
+     * window so they ride along with the first one. The run stays within {@code batch-size} rows,
+     * and rows waiting out a retry backoff are not picked up early.
+     */
+    private List<List<EmailOutbox>> groupByRecipient(List<EmailOutbox> due, Instant now) {
+        Map<String, List<EmailOutbox>> byRecipient = new LinkedHashMap<>();
+        due.forEach(email -> byRecipient.computeIfAbsent(email.getRecipient(), recipient -> new ArrayList<>()).add(email));
+        int room = batchSize - due.size();
+        if (room > 0) {
+            List<Long> dueIds = due.stream().map(EmailOutbox::getId).toList();
+            for (EmailOutbox email : emailOutboxRepository.findDigestRows(
+                    EmailOutboxStatus.PENDING, byRecipient.keySet(), dueIds, now, PageRequest.of(0, room))) {
+                byRecipient.get(email.getRecipient()).add(email);
+            }
+            byRecipient.values().forEach(group -> group.sort(Comparator.comparing(EmailOutbox::getId)));
+        }
+        return new ArrayList<>(byRecipient.values());
+    }
+
+    private MimeMessage compose(EmailOutbox email) throws MessagingException {
+        return message(email.getRecipient(), "TaskMate: New task assigned to you", String.format(
+                "Hello %s,%n%nYou have been assigned a new task: \"%s\".%n%n"
+                        + "Please sign in to TaskMate to view the full details and update its status.%n%n"
+                        + "— TaskMate",
+                email.getRecipientName(),
+                email.getTaskTitle()));
+    }
+
+    private MimeMessage composeDigest(List<EmailOutbox> emails) throws MessagingException {
+        StringBuilder text = new StringBuilder(String.format(
+                "Hello %s,%n%nYou have been assigned %d new tasks:%n%n",
+                emails.get(0).getRecipientName(), emails.size()));
+        int listed = Math.min(emails.size(), DIGEST_MAX_LISTED);
+        for (int i = 0; i < listed; i++) {
+            text.append(String.format("  - \"%s\"%n", emails.get(i).getTaskTitle()));
+        }
+        if (emails.size() > listed) {
+            text.append(String.format("  ...and %d more%n", emails.size() - listed));
+        }
+        text.append(String.format("%nPlease sign in to TaskMate to view the full details and update their status.%n%n"
+                + "— TaskMate"));
+        return message(emails.get(0).getRecipient(),
+                "TaskMate: " + emails.size() + " new tasks assigned to you", text.toString());
+    }
+
+    private MimeMessage message(String to, String subject, String text) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromAddress);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(text);
+        return message;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception cause) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        String error = String.valueOf(cause.getMessage());
+        email.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.FAILED);
+            failedRows.increment();
+            log.error("Giving up on task assignment email {} to {} after {} attempts",
+                    email.getId(), email.getRecipient(), attempts, cause);
+            return;
+        }
+        long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(Instant.now().plusMillis(delayMs));
+        retriedRows.increment();
+        log.warn("Task assignment email {} to {} failed (attempt {}), retrying in {} ms: {}",
+                email.getId(), email.getRecipient(), attempts, delayMs, error);
+    }
+
+    private int availablePermits() {
+        if (ratePerSecond <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        long now = System.nanoTime();
+        permits = Math.min(Math.max(ratePerSecond, 1), permits + (now - refilledAt) / 1e9 * ratePerSecond);
+        refilledAt = now;
+        return (int) permits;
+    }
+}
@@ -1,26 +1,50 @@
 package com.taskmate.service;
 
+import com.taskmate.model.EmailOutbox;
+import com.taskmate.model.EmailOutboxStatus;
 import com.taskmate.model.Task;
 import com.taskmate.model.User;
-import lombok.RequiredArgsConstructor;
+import com.taskmate.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
+/**
+ * Queues task assignment emails in the outbox table. The row joins the caller's transaction,
+ * so an email exists exactly when its task does; {@link EmailOutboxWorker} delivers it.
+ * In digest mode the row waits {@code taskmate.mail.digest.window-ms} so further assignments to
+ * the same person can be summarised in one email.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender javaMailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${spring.mail.username:}")
     private String fromAddress;
 
-    @Async
+    @Value("${taskmate.mail.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${taskmate.mail.digest.window-ms:300000}")
+    private long digestWindowMs;
+
+    public EmailService(EmailOutboxRepository emailOutboxRepository, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        // Queue depth, counted when metrics are scraped
+        for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+            Gauge.builder("taskmate.mail.outbox.size", emailOutboxRepository, repository -> repository.countByStatus(status))
+                    .description("Outbox rows waiting to be sent, or given up on")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
     public void sendTaskAssignmentNotification(Task task, User assignee) {
         if (assignee.getEmail() == null || assignee.getEmail().isBlank()) {
             log.warn("Skipping task assignment email: no email for user id {}", assignee.getId());
@@ -30,26 +54,19 @@ public class EmailService {
             log.warn("Skipping task assignment email: spring.mail.username is not configured");
             return;
         }
-        try {
-            String recipientName = assignee.getName() != null && !assignee.getName().isBlank()
-                    ? assignee.getName()
-                    : assignee.getEmail();
-            String title = task.getTitle() != null ? task.getTitle() : "(no title)";
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromAddress);
-            message.setTo(assignee.getEmail());
-            message.setSubject("TaskMate: New task assigned to you");
-            message.setText(String.format(
-                    "Hello %s,%n%nYou have been assigned a new task: \"%s\".%n%n"
-                            + "Please sign in to TaskMate to view the full details and update its status.%n%n"
-                            + "— TaskMate",
-                    recipientName,
-                    title));
-
-            javaMailSender.send(message);
-        } catch (Exception e) {
-            log.error("Failed to send task assignment email to {}", assignee.getEmail(), e);
-        }
+
+        Instant now = Instant.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(assignee.getEmail())
+                .recipientName(assignee.getName() != null && !assignee.getName().isBlank()
+                        ? assignee.getName()
+                        : assignee.getEmail())
+                .taskId(task.getId())
+                .taskTitle(task.getTitle() != null ? task.getTitle() : "(no title)")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(digestEnabled ? now.plusMillis(digestWindowMs) : now)
+                .createdAt(now)
+                .build());
     }
 }
@@ -0,0 +1,383 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskAggregates;
+import com.taskmate.dto.TaskView;
+import com.taskmate.event.TaskChangedEvent;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts by status and priority, globally and per assignee, plus open tasks by deadline
+ * for the overdue count. Committed creates and status changes adjust {@link LongAdder} cells,
+ * so concurrent commits do not contend and reading the counts never scans the tasks table.
+ *
+ * The counters are recomputed from the database on startup and every
+ * {@code taskmate.aggregates.reconcile-interval-ms}, which repairs changes made outside the task
+ * service and, with several nodes, changes committed on the other nodes. A deadline whose open
+ * count drops to zero keeps its cell until then; the recount only holds deadlines with open tasks.
+ */
+@Service
+@Slf4j
+public class TaskAggregateCounters {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    // One more priority slot for tasks without a priority
+    private static final int PRIORITY_SLOTS = PRIORITIES.length + 1;
+
+    private final TaskRepository taskRepository;
+    // All reconcile reads see one snapshot of the tasks table
+    private final TransactionTemplate snapshotTransaction;
+
+    // Event listeners share the read lock; only swapping in reconciled counts takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counts counts = new Counts();
+    private boolean reconciling;
+    // Latest committed state of each task changed while a reconcile reads the database
+    private final Map<Long, TaskView> changedDuringReconcile = new ConcurrentHashMap<>();
+    // Tasks whose transaction is between its before-commit and after-completion phases
+    private final Map<Long, Integer> committing = new ConcurrentHashMap<>();
+    // How the reconciled counts hold tasks that were committing when they were swapped in
+    private final Map<Long, CountedAs> countedAtReconcile = new ConcurrentHashMap<>();
+
+    public TaskAggregateCounters(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskCommitting(TaskChangedEvent event) {
+        committing.merge(event.getTask().getId(), 1, Integer::sum);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskView task = event.getTask();
+        lock.readLock().lock();
+        try {
+            CountedAs counted = countedAtReconcile.remove(task.getId());
+            if (counted != null) {
+                // The reconcile snapshot may already hold this change, so replace rather than adjust
+                counts.replace(counted.task(), task);
+            } else {
+                counts.apply(event);
+            }
+            if (reconciling) {
+                changedDuringReconcile.put(task.getId(), task);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onTaskCompleted(TaskChangedEvent event) {
+        Long taskId = event.getTask().getId();
+        if (committing.computeIfPresent(taskId, (id, count) -> count == 1 ? null : count - 1) == null) {
+            // Rolled back, or its after-commit listener already used the entry
+            countedAtReconcile.remove(taskId);
+        }
+    }
+
+    public TaskAggregates global() {
+        return counts.global.snapshot(LocalDate.now());
+    }
+
+    public TaskAggregates forAssignee(Integer assigneeId) {
+        Grid grid = counts.byAssignee.get(assigneeId);
+        return (grid != null ? grid : new Grid()).snapshot(LocalDate.now());
+    }
+
+    int trackedDeadlines() {
+        return counts.global.openByDeadline.size();
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            counts = new Counts();
+            changedDuringReconcile.clear();
+            countedAtReconcile.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Replaces the counters with counts read from one database snapshot.
+     *
+     * Invariant: every task is counted once, as its latest state whose after-commit listener has
+     * run. A snapshot only breaks this for tasks whose change commits while it is read:
+     * <ul>
+     *   <li>a task whose listener ran during the reconcile ({@code changedDuringReconcile}) may or
+     *   may not be in the snapshot as changed, so its snapshot row is swapped for the listener's
+     *   state;</li>
+     *   <li>a task still committing at the swap ({@code committing}) may be in the snapshot before
+     *   its listener runs, so {@code countedAtReconcile} keeps its snapshot row and the listener
+     *   replaces that row instead of adding a delta.</li>
+     * </ul>
+     * The snapshot rows of those tasks are read before taking the write lock, which then only
+     * guards swapping the counts, so listeners never wait on a query.
+     */
+    @Scheduled(fixedDelayString = "${taskmate.aggregates.reconcile-interval-ms:300000}",
+            initialDelayString = "${taskmate.aggregates.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        lock.writeLock().lock();
+        try {
+            reconciling = true;
+            changedDuringReconcile.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                Counts fresh = new Counts();
+                for (Object[] row : taskRepository.countByAssigneeStatusAndPriority()) {
+                    fresh.add((Integer) row[0], (TaskStatus) row[1], (TaskPriority) row[2], (Long) row[3]);
+                }
+                for (Object[] row : taskRepository.countOpenByAssigneeAndDeadline()) {
+                    fresh.addOpen((Integer) row[0], (LocalDate) row[1], (Long) row[2]);
+                }
+
+                Map<Long, TaskView> snapshotRows = new HashMap<>();
+                Set<Long> read = new HashSet<>();
+                while (true) {
+                    Set<Long> unread = touchedTaskIds();
+                    unread.removeAll(read);
+                    if (!unread.isEmpty()) {
+                        // Tasks missing from the result were created after the snapshot
+                        taskRepository.findViewsByIdIn(unread).forEach(task -> snapshotRows.put(task.getId(), task));
+                        read.addAll(unread);
+                        continue;
+                    }
+                    lock.writeLock().lock();
+                    try {
+                        // Another task may have changed since the read; if so read it and retry
+                        if (read.containsAll(touchedTaskIds())) {
+                            swapIn(fresh, snapshotRows);
+                            return;
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                reconciling = false;
+                changedDuringReconcile.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Set<Long> touchedTaskIds() {
+        Set<Long> taskIds = new HashSet<>(changedDuringReconcile.keySet());
+        taskIds.addAll(committing.keySet());
+        return taskIds;
+    }
+
+    /**
+     * Called with the write lock held. {@code snapshotRows} holds the snapshot row of every
+     * touched task that the snapshot contains.
+     */
+    private void swapIn(Counts fresh, Map<Long, TaskView> snapshotRows) {
+        Map<Long, TaskView> counted = new HashMap<>(snapshotRows);
+        changedDuringReconcile.forEach((taskId, task) -> {
+            fresh.replace(counted.get(taskId), task);
+            counted.put(taskId, task);
+        });
+        countedAtReconcile.clear();
+        committing.keySet().forEach(taskId -> countedAtReconcile.put(taskId, new CountedAs(counted.get(taskId))));
+        fresh.pruneOpen();
+
+        long drift = fresh.global.total() - counts.global.total();
+        if (drift != 0) {
+            log.info("Task aggregate counters reconciled: total was off by {}", drift);
+        }
+        counts = fresh;
+    }
+
+    /** A task as the counters hold it; null when they do not hold it at all. */
+    private record CountedAs(TaskView task) {
+    }
+
+    private static final class Counts {
+
+        private final Grid global = new Grid();
+        private final Map<Integer, Grid> byAssignee = new ConcurrentHashMap<>();
+
+        void apply(TaskChangedEvent event) {
+            TaskView task = event.getTask();
+            if (event.getType() == TaskChangedEvent.Type.STATUS_CHANGED) {
+                if (event.getPreviousStatus() == task.getStatus()) {
+                    return;
+                }
+                add(task.getAssigneeId(), event.getPreviousStatus(), task.getPriority(), -1);
+                if (isOpen(event.getPreviousStatus()) != isOpen(task.getStatus())) {
+                    addOpen(task.getAssigneeId(), task.getDeadline(), isOpen(task.getStatus()) ? 1 : -1);
+                }
+            } else if (isOpen(task.getStatus())) {
+                addOpen(task.getAssigneeId(), task.getDeadline(), 1);
+            }
+            add(task.getAssigneeId(), task.getStatus(), task.getPriority(), 1);
+        }
+
+        /**
+         * Moves one task from how it was counted (null if it was not) to its current state.
+         */
+        void replace(TaskView counted, TaskView task) {
+            if (counted != null) {
+                add(counted.getAssigneeId(), counted.getStatus(), counted.getPriority(), -1);
+                if (isOpen(counted.getStatus())) {
+                    addOpen(counted.getAssigneeId(), counted.getDeadline(), -1);
+                }
+            }
+            add(task.getAssigneeId(), task.getStatus(), task.getPriority(), 1);
+            if (isOpen(task.getStatus())) {
+                addOpen(task.getAssigneeId(), task.getDeadline(), 1);
+            }
+        }
+
+        void add(Integer assigneeId, TaskStatus status, TaskPriority priority, long delta) {
+            global.add(status, priority, delta);
+            if (assigneeId != null) {
+                byAssignee.computeIfAbsent(assigneeId, id -> new Grid()).add(status, priority, delta);
+            }
+        }
+
+        void addOpen(Integer assigneeId, LocalDate deadline, long delta) {
+            if (deadline == null) {
+                return;
+            }
+            global.addOpen(deadline, delta);
+            if (assigneeId != null) {
+                byAssignee.computeIfAbsent(assigneeId, id -> new Grid()).addOpen(deadline, delta);
+            }
+        }
+
+        void pruneOpen() {
+            global.pruneOpen();
+            byAssignee.values().forEach(Grid::pruneOpen);
+        }
+
+        private static boolean isOpen(TaskStatus status) {
+            return status != TaskStatus.COMPLETED;
+        }
+    }
+
+    /**
+     * Status x priority cells plus open tasks per deadline date, for one scope.
+     */
+    private static final class Grid {
+
+        // Indexed by status ordinal * PRIORITY_SLOTS + priority slot; tasks without a status are not counted
+        private final LongAdder[] cells = new LongAdder[STATUSES.length * PRIORITY_SLOTS];
+        private final ConcurrentSkipListMap<LocalDate, LongAdder> openByDeadline = new ConcurrentSkipListMap<>();
+
+        Grid() {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+        }
+
+        void add(TaskStatus status, TaskPriority priority, long delta) {
+            if (status != null) {
+                cells[status.ordinal() * PRIORITY_SLOTS + slot(priority)].add(delta);
+            }
+        }
+
+        void addOpen(LocalDate deadline, long delta) {
+            openByDeadline.computeIfAbsent(deadline, date -> new LongAdder()).add(delta);
+        }
+
+        /**
+         * Drops deadlines without open tasks. Past deadlines that still have some stay: they are
+         * the overdue count.
+         */
+        void pruneOpen() {
+            openByDeadline.values().removeIf(open -> open.sum() == 0);
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder cell : cells) {
+                total += cell.sum();
+            }
+            return total;
+        }
+
+        /**
+         * Overdue sums one counter per past deadline date that still has open tasks.
+         */
+        TaskAggregates snapshot(LocalDate today) {
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            Map<String, Long> byPriority = new LinkedHashMap<>();
+            Map<TaskStatus, Map<String, Long>> byStatusAndPriority = new EnumMap<>(TaskStatus.class);
+            long total = 0;
+            for (TaskStatus status : STATUSES) {
+                Map<String, Long> row = new LinkedHashMap<>();
+                long statusTotal = 0;
+                for (int slot = 0; slot < PRIORITY_SLOTS; slot++) {
+                    long count = cells[status.ordinal() * PRIORITY_SLOTS + slot].sum();
+                    String priority = slot < PRIORITIES.length ? PRIORITIES[slot].name() : TaskAggregates.NO_PRIORITY;
+                    row.put(priority, count);
+                    byPriority.merge(priority, count, Long::sum);
+                    statusTotal += count;
+                }
+                byStatusAndPriority.put(status, row);
+                byStatus.put(status, statusTotal);
+                total += statusTotal;
+            }
+
+            long overdue = 0;
+            for (LongAdder open : openByDeadline.headMap(today).values()) {
+                overdue += open.sum();
+            }
+            return TaskAggregates.builder()
+                    .total(total)
+                    .overdue(overdue)
+                    .byStatus(byStatus)
+                    .byPriority(byPriority)
+                    .byStatusAndPriority(byStatusAndPriority)
+                    .build();
+        }
+
+        private static int slot(TaskPriority priority) {
+            return priority == null ? PRIORITIES.length : priority.ordinal();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskChange;
+import com.taskmate.dto.TaskChangeBatch;
+import com.taskmate.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ordered log of committed task changes, each stamped with a monotonically increasing
+ * sequence number. Sequence numbers are assigned at commit, so the log has no holes from
+ * rolled-back transactions and is always in commit order. Only the most recent
+ * {@code taskmate.websocket.feed-capacity} changes are retained.
+ *
+ * The log is local to this node. Its {@link #getSource() source} id (from
+ * {@code taskmate.node-id}, random per start when unset) tells clients which numbering a
+ * sequence belongs to when several nodes push through a shared broker.
+ */
+@Service
+public class TaskChangeFeed {
+
+    private final String source;
+    private final int capacity;
+    private final ArrayDeque<TaskChange> changes = new ArrayDeque<>();
+    private long lastSeq;
+
+    public TaskChangeFeed(@Value("${taskmate.node-id:}") String nodeId,
+                          @Value("${taskmate.websocket.feed-capacity:10000}") int capacity) {
+        this.source = nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+        this.capacity = capacity;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        append(TaskChange.of(event));
+    }
+
+    public synchronized TaskChange append(TaskChange change) {
+        change.setSeq(++lastSeq);
+        changes.addLast(change);
+        if (changes.size() > capacity) {
+            changes.removeFirst();
+        }
+        return change;
+    }
+
+    public synchronized long currentSeq() {
+        return lastSeq;
+    }
+
+    public TaskChangeBatch since(long since, Integer assigneeId) {
+        return since(source, since, assigneeId);
+    }
+
+    /**
+     * Changes after {@code since}, optionally only those for one assignee. A sequence from
+     * another source cannot be answered here and requires a resync.
+     */
+    public synchronized TaskChangeBatch since(String sinceSource, long since, Integer assigneeId) {
+        long oldestRetained = changes.isEmpty() ? lastSeq + 1 : changes.peekFirst().getSeq();
+        if (!source.equals(sinceSource) || since < oldestRetained - 1 || since > lastSeq) {
+            return TaskChangeBatch.builder()
+                    .source(source)
+                    .fromSeq(since)
+                    .toSeq(lastSeq)
+                    .resyncRequired(true)
+                    .changes(List.of())
+                    .build();
+        }
+
+        List<TaskChange> result = new ArrayList<>();
+        for (TaskChange change : changes) {
+            if (change.getSeq() > since && (assigneeId == null || assigneeId.equals(change.getAssigneeId()))) {
+                result.add(change);
+            }
+        }
+        return TaskChangeBatch.builder()
+                .source(source)
+                .fromSeq(since)
+                .toSeq(lastSeq)
+                .resyncRequired(false)
+                .changes(result)
+                .build();
+    }
+
+    public synchronized void clear() {
+        changes.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.dto.TaskView;
+import com.taskmate.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every task to a response body row by row from a database cursor,
+ * so heap use stays flat regardless of how many tasks there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final String CSV_HEADER =
+            "id,title,description,deadline,status,priority,comments,assigneeId,assigneeName\n";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out) throws IOException {
+        try (Stream<TaskView> tasks = taskRepository.streamAllViews()) {
+            Iterator<TaskView> it = tasks.iterator();
+            while (it.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        try (Stream<TaskView> tasks = taskRepository.streamAllViews()) {
+            tasks.forEach(task -> {
+                try {
+                    out.write(toCsvRow(task));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private String toCsvRow(TaskView task) {
+        return String.join(",",
+                csv(task.getId()),
+                csv(task.getTitle()),
+                csv(task.getDescription()),
+                csv(task.getDeadline()),
+                csv(task.getStatus()),
+                csv(task.getPriority()),
+                csv(task.getComments()),
+                csv(task.getAssigneeId()),
+                csv(task.getAssigneeName())) + "\n";
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            // Spreadsheets would run the cell as a formula; a leading quote keeps it text
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
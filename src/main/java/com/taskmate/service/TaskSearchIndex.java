@@ -0,0 +1,603 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskSearchResult;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskView;
+import com.taskmate.event.TaskChangedEvent;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task title, description and comments, answering
+ * {@code GET /api/task/search} without touching the database.
+ *
+ * Committed creates and status changes are applied as they happen. The whole index is rebuilt
+ * from the database on startup, tokenizing pages of rows in parallel while the next page is read.
+ * Like {@link TaskChangeFeed} the index is local to this node: with several nodes writing, each
+ * only sees the other nodes' tasks as of its last rebuild.
+ *
+ * Query terms are ANDed. A term ending in {@code *} matches every indexed term with that prefix
+ * (the first {@value #MAX_PREFIX_EXPANSIONS} in alphabetical order). Matches are ranked by tf-idf,
+ * title terms counting {@value #TITLE_WEIGHT} times. Postings are sorted arrays of document
+ * ordinals, so a query costs roughly the length of its rarest term's postings.
+ */
+@Service
+@Slf4j
+public class TaskSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    static final int MAX_PREFIX_EXPANSIONS = 256;
+    static final int TITLE_WEIGHT = 3;
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private final TaskRepository taskRepository;
+    private final boolean rebuildOnStartup;
+    private final int rebuildThreads;
+    private final int rebuildPageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Changes committed while a rebuild reads the database, replayed onto the rebuilt index
+    private List<TaskView> changedDuringRebuild;
+    // Bumped by clear() so a rebuild that started earlier is thrown away
+    private long generation;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           @Value("${taskmate.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                           @Value("${taskmate.search.rebuild-threads:0}") int rebuildThreads,
+                           @Value("${taskmate.search.rebuild-page-size:5000}") int rebuildPageSize) {
+        this.taskRepository = taskRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        index(event.getTask());
+    }
+
+    /**
+     * Adds the task, or replaces the indexed version of it.
+     */
+    public void index(TaskView task) {
+        Terms terms = Terms.of(task);
+        lock.writeLock().lock();
+        try {
+            index.put(task, terms);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index = new Index();
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads every task from the database into a new index and swaps it in. Searches keep
+     * using the current index until then. Returns the number of indexed tasks.
+     */
+    public synchronized int rebuild() {
+        long startedGeneration;
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+            startedGeneration = generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads,
+                Thread.ofPlatform().name("search-rebuild-", 0).daemon().factory());
+        try {
+            Index rebuilt = new Index();
+            // Pages in flight are bounded so a large table is never fully held in memory twice
+            ArrayDeque<Future<List<Entry>>> inFlight = new ArrayDeque<>();
+            Long afterId = null;
+            while (true) {
+                List<TaskView> page = taskRepository.findPage(
+                        TaskPageRequest.builder().afterId(afterId).build(), false, rebuildPageSize);
+                if (!page.isEmpty()) {
+                    inFlight.addLast(workers.submit(() -> tokenize(page)));
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                while (!inFlight.isEmpty() && (inFlight.size() > rebuildThreads * 2 || page.size() < rebuildPageSize)) {
+                    // Page order is id order, so new ordinals are always appended to the postings
+                    for (Entry entry : inFlight.removeFirst().get()) {
+                        rebuilt.put(entry.task(), entry.terms());
+                    }
+                }
+                if (page.size() < rebuildPageSize) {
+                    break;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (generation != startedGeneration) {
+                    log.info("Search index rebuild discarded: the index was cleared meanwhile");
+                    return index.docs.size();
+                }
+                for (TaskView task : changedDuringRebuild) {
+                    rebuilt.put(task, Terms.of(task));
+                }
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Search index rebuilt: {} tasks, {} terms in {} ms", rebuilt.docs.size(),
+                    rebuilt.postings.size(), (System.nanoTime() - started) / 1_000_000);
+            return rebuilt.docs.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search index rebuild failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static List<Entry> tokenize(List<TaskView> page) {
+        List<Entry> entries = new ArrayList<>(page.size());
+        for (TaskView task : page) {
+            entries.add(new Entry(task, Terms.of(task)));
+        }
+        return entries;
+    }
+
+    /**
+     * Top {@code limit} tasks matching every term of {@code query}, optionally only those with
+     * the given status and priority.
+     */
+    public TaskSearchResult search(String query, TaskStatus status, TaskPriority priority, int limit) {
+        List<QueryTerm> queryTerms = parse(query);
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("Query has no searchable terms");
+        }
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int wantedStatus = status == null ? -1 : status.ordinal();
+        int wantedPriority = priority == null ? -1 : priority.ordinal();
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        int[] statusCounts = new int[statuses.length];
+        int[] priorityCounts = new int[priorities.length];
+        // Ties go to the later ordinal, i.e. the more recently indexed task
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score).thenComparingInt(Hit::ordinal);
+        PriorityQueue<Hit> top = new PriorityQueue<>(k + 1, worstFirst);
+        int total = 0;
+        List<TaskView> items = new ArrayList<>(k);
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            int n = queryTerms.size();
+            Postings[][] expansions = new Postings[n][];
+            double[][] idf = new double[n][];
+            long[] df = new long[n];
+            for (int t = 0; t < n; t++) {
+                expansions[t] = current.lookup(queryTerms.get(t));
+                if (expansions[t].length == 0) {
+                    return result(0, items, statusCounts, priorityCounts);
+                }
+                idf[t] = new double[expansions[t].length];
+                for (int e = 0; e < expansions[t].length; e++) {
+                    idf[t][e] = Math.log(1 + (double) current.docs.size() / expansions[t][e].size);
+                    df[t] += expansions[t][e].size;
+                }
+            }
+
+            // Walk the rarest term's postings and probe the others
+            int driver = 0;
+            for (int t = 1; t < n; t++) {
+                if (df[t] < df[driver]) {
+                    driver = t;
+                }
+            }
+            Candidates candidates = Candidates.of(expansions[driver], idf[driver]);
+            for (int i = 0; i < candidates.size; i++) {
+                int ordinal = candidates.ordinals[i];
+                double score = candidates.scores[i] + score(ordinal, expansions, idf, driver);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+
+                // Facets come from the compact per-ordinal arrays; tasks are only read for the hits
+                int taskStatus = current.statuses[ordinal];
+                int taskPriority = current.priorities[ordinal];
+                boolean statusMatches = wantedStatus < 0 || wantedStatus == taskStatus;
+                boolean priorityMatches = wantedPriority < 0 || wantedPriority == taskPriority;
+                if (priorityMatches && taskStatus >= 0) {
+                    statusCounts[taskStatus]++;
+                }
+                if (statusMatches && taskPriority >= 0) {
+                    priorityCounts[taskPriority]++;
+                }
+                if (statusMatches && priorityMatches) {
+                    total++;
+                    if (top.size() < k) {
+                        top.add(new Hit(score, ordinal));
+                    } else if (score > top.peek().score()
+                            || (score == top.peek().score() && ordinal > top.peek().ordinal())) {
+                        top.poll();
+                        top.add(new Hit(score, ordinal));
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(worstFirst.reversed());
+            for (Hit hit : hits) {
+                items.add(current.docs.get(hit.ordinal()).task());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result(total, items, statusCounts, priorityCounts);
+    }
+
+    /**
+     * Sum over the other query terms of the best weighted tf-idf among that term's expansions,
+     * or NaN when one of them does not occur in the document.
+     */
+    private static double score(int ordinal, Postings[][] expansions, double[][] idf, int skip) {
+        double score = 0;
+        for (int t = 0; t < expansions.length; t++) {
+            if (t == skip) {
+                continue;
+            }
+            double best = 0;
+            for (int e = 0; e < expansions[t].length; e++) {
+                int weight = expansions[t][e].weightOf(ordinal);
+                if (weight > 0) {
+                    best = Math.max(best, weight * idf[t][e]);
+                }
+            }
+            if (best == 0) {
+                return Double.NaN;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static TaskSearchResult result(int total, List<TaskView> items,
+                                           int[] statusCounts, int[] priorityCounts) {
+        Map<TaskStatus, Integer> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            if (statusCounts[status.ordinal()] > 0) {
+                byStatus.put(status, statusCounts[status.ordinal()]);
+            }
+        }
+        Map<TaskPriority, Integer> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            if (priorityCounts[priority.ordinal()] > 0) {
+                byPriority.put(priority, priorityCounts[priority.ordinal()]);
+            }
+        }
+        return TaskSearchResult.builder()
+                .total(total)
+                .items(items)
+                .statusCounts(byStatus)
+                .priorityCounts(byPriority)
+                .build();
+    }
+
+    static List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String part : query.trim().split("\\s+")) {
+            boolean prefix = part.endsWith("*");
+            List<String> tokens = new ArrayList<>();
+            tokenize(part, tokens);
+            for (int i = 0; i < tokens.size(); i++) {
+                terms.add(new QueryTerm(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; longer runs than {@value #MAX_TERM_LENGTH}
+     * characters (hashes, encoded data) are skipped.
+     */
+    static void tokenize(String text, List<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (!token.isEmpty()) {
+                if (token.length() <= MAX_TERM_LENGTH) {
+                    sink.add(token.toString().toLowerCase(Locale.ROOT));
+                }
+                token.setLength(0);
+            }
+        }
+    }
+
+    record QueryTerm(String text, boolean prefix) {
+    }
+
+    private record Hit(double score, int ordinal) {
+    }
+
+    private record Entry(TaskView task, Terms terms) {
+    }
+
+    private record Doc(TaskView task, String[] terms) {
+    }
+
+    /**
+     * Distinct terms of one task with their weighted frequencies.
+     */
+    private record Terms(String[] terms, short[] weights) {
+
+        static Terms of(TaskView task) {
+            Map<String, Integer> counts = new HashMap<>();
+            List<String> tokens = new ArrayList<>();
+            tokenize(task.getTitle(), tokens);
+            tokens.forEach(token -> counts.merge(token, TITLE_WEIGHT, Integer::sum));
+            tokens.clear();
+            tokenize(task.getDescription(), tokens);
+            tokenize(task.getComments(), tokens);
+            tokens.forEach(token -> counts.merge(token, 1, Integer::sum));
+
+            String[] terms = new String[counts.size()];
+            short[] weights = new short[counts.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                terms[i] = count.getKey();
+                weights[i++] = (short) Math.min(count.getValue(), Short.MAX_VALUE);
+            }
+            return new Terms(terms, weights);
+        }
+    }
+
+    /**
+     * Not thread-safe; guarded by the outer read/write lock.
+     */
+    private static final class Index {
+
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Doc> docs = new ArrayList<>();
+        // Status and priority ordinal by document ordinal, -1 when unset
+        private byte[] statuses = new byte[16];
+        private byte[] priorities = new byte[16];
+
+        void put(TaskView task, Terms terms) {
+            Integer ordinal = ordinals.get(task.getId());
+            if (ordinal == null) {
+                ordinal = docs.size();
+                ordinals.put(task.getId(), ordinal);
+                docs.add(new Doc(task, terms.terms()));
+                setFacets(ordinal, task);
+                addPostings(ordinal, terms);
+                return;
+            }
+            Doc previous = docs.get(ordinal);
+            docs.set(ordinal, new Doc(task, terms.terms()));
+            setFacets(ordinal, task);
+            // A status change leaves the text, and so the postings, as they were
+            if (!sameText(previous.task(), task)) {
+                for (String term : previous.terms()) {
+                    Postings list = postings.get(term);
+                    list.remove(ordinal);
+                    if (list.size == 0) {
+                        postings.remove(term);
+                    }
+                }
+                addPostings(ordinal, terms);
+            }
+        }
+
+        private void setFacets(int ordinal, TaskView task) {
+            if (ordinal == statuses.length) {
+                statuses = Arrays.copyOf(statuses, ordinal * 2);
+                priorities = Arrays.copyOf(priorities, ordinal * 2);
+            }
+            statuses[ordinal] = (byte) (task.getStatus() == null ? -1 : task.getStatus().ordinal());
+            priorities[ordinal] = (byte) (task.getPriority() == null ? -1 : task.getPriority().ordinal());
+        }
+
+        private void addPostings(int ordinal, Terms terms) {
+            for (int i = 0; i < terms.terms().length; i++) {
+                postings.computeIfAbsent(terms.terms()[i], term -> new Postings()).put(ordinal, terms.weights()[i]);
+            }
+        }
+
+        Postings[] lookup(QueryTerm term) {
+            if (!term.prefix()) {
+                Postings list = postings.get(term.text());
+                return list == null ? new Postings[0] : new Postings[] {list};
+            }
+            return postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .toArray(Postings[]::new);
+        }
+
+        private static boolean sameText(TaskView a, TaskView b) {
+            return Objects.equals(a.getTitle(), b.getTitle())
+                    && Objects.equals(a.getDescription(), b.getDescription())
+                    && Objects.equals(a.getComments(), b.getComments());
+        }
+    }
+
+    /**
+     * Documents containing one query term with their score for it, in ordinal order. A prefix
+     * term's expansions are merged, keeping the best-scoring expansion per document.
+     */
+    private static final class Candidates {
+
+        private final int[] ordinals;
+        private final double[] scores;
+        private final int size;
+
+        private Candidates(int[] ordinals, double[] scores, int size) {
+            this.ordinals = ordinals;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        static Candidates of(Postings[] expansions, double[] idf) {
+            if (expansions.length == 1) {
+                Postings only = expansions[0];
+                double[] scores = new double[only.size];
+                for (int i = 0; i < only.size; i++) {
+                    scores[i] = only.weights[i] * idf[0];
+                }
+                return new Candidates(only.ordinals, scores, only.size);
+            }
+
+            int total = 0;
+            for (Postings postings : expansions) {
+                total += postings.size;
+            }
+            // (ordinal, position) pairs sorted by ordinal, so a document's expansions are adjacent
+            long[] pairs = new long[total];
+            double[] pairScores = new double[total];
+            int n = 0;
+            for (int e = 0; e < expansions.length; e++) {
+                for (int i = 0; i < expansions[e].size; i++) {
+                    pairScores[n] = expansions[e].weights[i] * idf[e];
+                    pairs[n] = ((long) expansions[e].ordinals[i] << 32) | n;
+                    n++;
+                }
+            }
+            Arrays.sort(pairs);
+
+            int[] ordinals = new int[total];
+            double[] scores = new double[total];
+            int size = 0;
+            for (long pair : pairs) {
+                int ordinal = (int) (pair >>> 32);
+                double score = pairScores[(int) pair];
+                if (size > 0 && ordinals[size - 1] == ordinal) {
+                    scores[size - 1] = Math.max(scores[size - 1], score);
+                } else {
+                    ordinals[size] = ordinal;
+                    scores[size++] = score;
+                }
+            }
+            return new Candidates(ordinals, scores, size);
+        }
+    }
+
+    /**
+     * Document ordinals of one term in ascending order, with the term's weight in each.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private short[] weights = new short[2];
+        private int size;
+
+        void put(int ordinal, short weight) {
+            if (size == 0 || ordinals[size - 1] < ordinal) {
+                grow();
+                ordinals[size] = ordinal;
+                weights[size++] = weight;
+                return;
+            }
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                weights[i] = weight;
+                return;
+            }
+            int at = -i - 1;
+            grow();
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            ordinals[at] = ordinal;
+            weights[at] = weight;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+                size--;
+            }
+        }
+
+        int weightOf(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            return i >= 0 ? weights[i] : 0;
+        }
+
+        private void grow() {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+        }
+    }
+}
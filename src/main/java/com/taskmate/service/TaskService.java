@@ -1,5 +1,10 @@
 package com.taskmate.service;
 
+import com.taskmate.dto.BulkTaskItem;
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskStatusUpdate;
+import com.taskmate.dto.TaskView;
 import com.taskmate.model.Task;
 import com.taskmate.model.User;
 
@@ -7,7 +12,10 @@ import java.util.List;
 
 public interface TaskService {
     Task createTask(Task task, Long userId);
-    List<Task> getTasksByUser(User user);
+    List<Task> createTasks(List<BulkTaskItem> items);
+    List<TaskView> getTasksByUser(User user);
     Task updateTaskStatus(Long taskId, String status);
-    List<Task> getAllTasks(); // for admin
+    List<Task> updateTaskStatuses(List<TaskStatusUpdate> updates);
+    List<TaskView> getAllTasks(); // for admin
+    TaskPage getTaskPage(TaskPageRequest request);
 }
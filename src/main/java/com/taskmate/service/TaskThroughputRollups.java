@@ -0,0 +1,412 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskThroughput;
+import com.taskmate.event.TaskChangedEvent;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.TaskThroughputBucket;
+import com.taskmate.model.ThroughputResolution;
+import com.taskmate.model.ThroughputSeries;
+import com.taskmate.repository.TaskThroughputBucketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Tasks created and completed per minute, hour and day, globally and per assignee, kept in
+ * ring buffers so a range query reads at most one ring and never the tasks table. Rings hold
+ * the last {@code taskmate.throughput.minute-buckets}, {@code hour-buckets} and
+ * {@code day-buckets} buckets (24 hours, 90 days and 3 years by default). The all-assignees
+ * rings are fixed-size arrays; an assignee's rings only hold the buckets they have counts in.
+ *
+ * Committed creates and completions are counted at commit time. Changed buckets are written to
+ * {@code task_throughput_buckets} every {@code taskmate.throughput.persist-interval-ms} and on
+ * shutdown, and read back on startup; a crash loses at most one interval. Reopening a completed
+ * task does not take back its completion. With several nodes, run the writer on one node only
+ * ({@code taskmate.throughput.persist-enabled}): each node persists its own counts.
+ */
+@Service
+@Slf4j
+public class TaskThroughputRollups {
+
+    private static final ThroughputSeries[] SERIES = ThroughputSeries.values();
+    private static final ThroughputResolution[] RESOLUTIONS = ThroughputResolution.values();
+
+    private final TaskThroughputBucketRepository bucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean persistEnabled;
+    // Ring size by resolution ordinal
+    private final int[] ringSizes;
+    private final Map<Integer, Scope> scopes = new ConcurrentHashMap<>();
+
+    public TaskThroughputRollups(TaskThroughputBucketRepository bucketRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${taskmate.throughput.persist-enabled:true}") boolean persistEnabled,
+                                 @Value("${taskmate.throughput.minute-buckets:1440}") int minuteBuckets,
+                                 @Value("${taskmate.throughput.hour-buckets:2160}") int hourBuckets,
+                                 @Value("${taskmate.throughput.day-buckets:1095}") int dayBuckets) {
+        this.bucketRepository = bucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.persistEnabled = persistEnabled;
+        this.ringSizes = new int[RESOLUTIONS.length];
+        ringSizes[ThroughputResolution.MINUTE.ordinal()] = minuteBuckets;
+        ringSizes[ThroughputResolution.HOUR.ordinal()] = hourBuckets;
+        ringSizes[ThroughputResolution.DAY.ordinal()] = dayBuckets;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        ThroughputSeries series;
+        if (event.getType() == TaskChangedEvent.Type.CREATED) {
+            series = ThroughputSeries.CREATED;
+        } else if (event.getTask().getStatus() == TaskStatus.COMPLETED
+                && event.getPreviousStatus() != TaskStatus.COMPLETED) {
+            series = ThroughputSeries.COMPLETED;
+        } else {
+            return;
+        }
+        record(series, event.getTask().getAssigneeId(), Instant.now());
+    }
+
+    void record(ThroughputSeries series, Integer assigneeId, Instant at) {
+        scope(TaskThroughputBucket.ALL_ASSIGNEES).add(series, at.getEpochSecond(), 1);
+        if (assigneeId != null) {
+            scope(assigneeId).add(series, at.getEpochSecond(), 1);
+        }
+    }
+
+    /**
+     * The last {@code buckets} buckets up to and including the current one, for everyone
+     * ({@code assigneeId} null) or one assignee.
+     */
+    public TaskThroughput range(Integer assigneeId, ThroughputResolution resolution, int buckets) {
+        int size = ringSizes[resolution.ordinal()];
+        if (buckets < 1 || buckets > size) {
+            throw new IllegalArgumentException("Between 1 and " + size + " " + resolution + " buckets are kept");
+        }
+        long to = resolution.bucketOf(Instant.now().getEpochSecond());
+        long from = to - buckets + 1;
+        Scope scope = scopes.get(assigneeId == null ? TaskThroughputBucket.ALL_ASSIGNEES : assigneeId);
+        return TaskThroughput.builder()
+                .resolution(resolution)
+                .from(Instant.ofEpochSecond(from * resolution.getSeconds()))
+                .bucketSeconds(resolution.getSeconds())
+                .created(scope != null ? scope.ring(ThroughputSeries.CREATED, resolution).range(from, to) : new long[buckets])
+                .completed(scope != null ? scope.ring(ThroughputSeries.COMPLETED, resolution).range(from, to) : new long[buckets])
+                .build();
+    }
+
+    public void clear() {
+        scopes.clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = Instant.now().getEpochSecond();
+        int restored = 0;
+        for (ThroughputResolution resolution : RESOLUTIONS) {
+            long oldest = resolution.bucketOf(now) - ringSizes[resolution.ordinal()] + 1;
+            for (TaskThroughputBucket row : bucketRepository.findByResolutionAndBucketGreaterThanEqual(resolution, oldest)) {
+                // Added to anything counted since startup, which the snapshot cannot contain
+                scope(row.getAssigneeId()).ring(row.getSeries(), resolution).restore(row.getBucket(), row.getCount());
+                restored++;
+            }
+        }
+        log.info("Restored {} task throughput buckets", restored);
+    }
+
+    @PreDestroy
+    void persistOnShutdown() {
+        try {
+            persist();
+        } catch (RuntimeException e) {
+            log.warn("Could not persist task throughput buckets on shutdown", e);
+        }
+    }
+
+    /**
+     * Writes every bucket changed since the last run and deletes rows that fell out of the rings.
+     */
+    @Scheduled(fixedDelayString = "${taskmate.throughput.persist-interval-ms:60000}",
+            initialDelayString = "${taskmate.throughput.persist-interval-ms:60000}")
+    public void persist() {
+        if (!persistEnabled) {
+            return;
+        }
+        Map<ThroughputResolution, List<Changed>> changedByResolution = new HashMap<>();
+        scopes.forEach((assigneeId, scope) -> {
+            for (ThroughputSeries series : SERIES) {
+                for (ThroughputResolution resolution : RESOLUTIONS) {
+                    scope.ring(series, resolution).changed((bucket, count) -> changedByResolution
+                            .computeIfAbsent(resolution, r -> new ArrayList<>())
+                            .add(new Changed(assigneeId, series, bucket, count)));
+                }
+            }
+        });
+
+        long now = Instant.now().getEpochSecond();
+        transactionTemplate.executeWithoutResult(status -> {
+            changedByResolution.forEach(this::write);
+            for (ThroughputResolution resolution : RESOLUTIONS) {
+                bucketRepository.deleteOlderThan(resolution, resolution.bucketOf(now) - ringSizes[resolution.ordinal()] + 1);
+            }
+        });
+
+        // Only after commit: a bucket counted again meanwhile stays changed for the next run
+        changedByResolution.forEach((resolution, changes) -> changes.forEach(changed ->
+                scope(changed.assigneeId()).ring(changed.series(), resolution).written(changed.bucket(), changed.count())));
+    }
+
+    private void write(ThroughputResolution resolution, List<Changed> changes) {
+        List<Long> buckets = changes.stream().map(Changed::bucket).distinct().toList();
+        Map<Changed, TaskThroughputBucket> existing = new HashMap<>();
+        for (TaskThroughputBucket row : bucketRepository.findByResolutionAndBucketIn(resolution, buckets)) {
+            existing.put(new Changed(row.getAssigneeId(), row.getSeries(), row.getBucket(), 0), row);
+        }
+        List<TaskThroughputBucket> inserts = new ArrayList<>();
+        for (Changed changed : changes) {
+            TaskThroughputBucket row = existing.get(new Changed(changed.assigneeId(), changed.series(), changed.bucket(), 0));
+            if (row != null) {
+                // Flushed as a batched update at commit
+                row.setCount(changed.count());
+            } else {
+                inserts.add(TaskThroughputBucket.builder()
+                        .assigneeId(changed.assigneeId())
+                        .series(changed.series())
+                        .resolution(resolution)
+                        .bucket(changed.bucket())
+                        .count(changed.count())
+                        .build());
+            }
+        }
+        bucketRepository.saveAll(inserts);
+    }
+
+    private Scope scope(int assigneeId) {
+        return scopes.computeIfAbsent(assigneeId, id -> new Scope(id == TaskThroughputBucket.ALL_ASSIGNEES
+                ? DenseRing::new
+                : SparseRing::new));
+    }
+
+    private record Changed(int assigneeId, ThroughputSeries series, long bucket, long count) {
+    }
+
+    /**
+     * One ring per series and resolution for one assignee, or for everyone.
+     */
+    private final class Scope {
+
+        private final Ring[] rings = new Ring[SERIES.length * RESOLUTIONS.length];
+
+        Scope(IntFunction<Ring> newRing) {
+            for (ThroughputSeries series : SERIES) {
+                for (ThroughputResolution resolution : RESOLUTIONS) {
+                    rings[series.ordinal() * RESOLUTIONS.length + resolution.ordinal()] =
+                            newRing.apply(ringSizes[resolution.ordinal()]);
+                }
+            }
+        }
+
+        Ring ring(ThroughputSeries series, ThroughputResolution resolution) {
+            return rings[series.ordinal() * RESOLUTIONS.length + resolution.ordinal()];
+        }
+
+        void add(ThroughputSeries series, long epochSecond, long delta) {
+            for (ThroughputResolution resolution : RESOLUTIONS) {
+                ring(series, resolution).add(resolution.bucketOf(epochSecond), delta);
+            }
+        }
+    }
+
+    /**
+     * Counts of the most recent {@code size} buckets of one series and resolution.
+     */
+    private interface Ring {
+
+        void add(long bucket, long delta);
+
+        void restore(long bucket, long count);
+
+        long[] range(long from, long to);
+
+        void changed(BucketConsumer consumer);
+
+        void written(long bucket, long count);
+    }
+
+    /**
+     * Array-backed ring for the all-assignees scope, which has counts in most buckets. Slot
+     * {@code bucket % size} belongs to whichever bucket last wrote it; a slot holding an older
+     * bucket reads as zero.
+     */
+    private static final class DenseRing implements Ring {
+
+        private final long[] buckets;
+        private final long[] counts;
+        private final BitSet changed;
+
+        DenseRing(int size) {
+            buckets = new long[size];
+            counts = new long[size];
+            changed = new BitSet(size);
+            Arrays.fill(buckets, Long.MIN_VALUE);
+        }
+
+        @Override
+        public synchronized void add(long bucket, long delta) {
+            int slot = claim(bucket);
+            if (slot >= 0) {
+                counts[slot] += delta;
+                changed.set(slot);
+            }
+        }
+
+        @Override
+        public synchronized void restore(long bucket, long count) {
+            int slot = claim(bucket);
+            if (slot >= 0) {
+                counts[slot] += count;
+            }
+        }
+
+        @Override
+        public synchronized long[] range(long from, long to) {
+            long[] result = new long[(int) (to - from + 1)];
+            for (long bucket = from; bucket <= to; bucket++) {
+                int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+                if (buckets[slot] == bucket) {
+                    result[(int) (bucket - from)] = counts[slot];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized void changed(BucketConsumer consumer) {
+            for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+                consumer.accept(buckets[slot], counts[slot]);
+            }
+        }
+
+        @Override
+        public synchronized void written(long bucket, long count) {
+            int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+            if (buckets[slot] == bucket && counts[slot] == count) {
+                changed.clear(slot);
+            }
+        }
+
+        /**
+         * The slot for {@code bucket}, reset if it held an older bucket; -1 if the bucket is
+         * older than the slot's current one.
+         */
+        private int claim(long bucket) {
+            int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+            if (buckets[slot] != bucket) {
+                if (buckets[slot] > bucket) {
+                    return -1;
+                }
+                buckets[slot] = bucket;
+                counts[slot] = 0;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Ring for one assignee, holding only the buckets that have counts: most assignees touch a
+     * handful of buckets, so full arrays per assignee would be almost all zeros. Buckets that fall
+     * more than {@code size} behind the newest one are dropped.
+     */
+    private static final class SparseRing implements Ring {
+
+        private static final class Cell {
+            long count;
+            boolean changed;
+        }
+
+        private final int size;
+        private final TreeMap<Long, Cell> cells = new TreeMap<>();
+
+        SparseRing(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public synchronized void add(long bucket, long delta) {
+            Cell cell = claim(bucket);
+            if (cell != null) {
+                cell.count += delta;
+                cell.changed = true;
+            }
+        }
+
+        @Override
+        public synchronized void restore(long bucket, long count) {
+            Cell cell = claim(bucket);
+            if (cell != null) {
+                cell.count += count;
+            }
+        }
+
+        @Override
+        public synchronized long[] range(long from, long to) {
+            long[] result = new long[(int) (to - from + 1)];
+            cells.subMap(from, true, to, true).forEach((bucket, cell) -> result[(int) (bucket - from)] = cell.count);
+            return result;
+        }
+
+        @Override
+        public synchronized void changed(BucketConsumer consumer) {
+            cells.forEach((bucket, cell) -> {
+                if (cell.changed) {
+                    consumer.accept(bucket, cell.count);
+                }
+            });
+        }
+
+        @Override
+        public synchronized void written(long bucket, long count) {
+            Cell cell = cells.get(bucket);
+            if (cell != null && cell.count == count) {
+                cell.changed = false;
+            }
+        }
+
+        /**
+         * The cell for {@code bucket}, dropping cells that fall out of the ring; null if the bucket
+         * is already out of it.
+         */
+        private Cell claim(long bucket) {
+            long newest = cells.isEmpty() ? bucket : Math.max(cells.lastKey(), bucket);
+            if (bucket <= newest - size) {
+                return null;
+            }
+            cells.headMap(newest - size, true).clear();
+            return cells.computeIfAbsent(bucket, b -> new Cell());
+        }
+    }
+
+    @FunctionalInterface
+    private interface BucketConsumer {
+        void accept(long bucket, long count);
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmate.service;
+
+import com.taskmate.repository.TokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Deletes revoked and expired token rows in fixed-size chunks, each in its own
+ * transaction, so the token table stays proportional to the number of live sessions.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "taskmate.auth.token-mode", havingValue = "persisted", matchIfMissing = true)
+public class TokenPurgeService {
+
+    private final TokenRepository tokenRepository;
+    private final int chunkSize;
+
+    public TokenPurgeService(TokenRepository tokenRepository,
+                             @Value("${taskmate.token-purge.chunk-size:1000}") int chunkSize) {
+        this.tokenRepository = tokenRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${taskmate.token-purge.initial-delay-ms:60000}",
+            fixedDelayString = "${taskmate.token-purge.interval-ms:3600000}")
+    public void purgeDeadTokens() {
+        long purged = 0;
+        List<Long> ids;
+        do {
+            ids = tokenRepository.findDeadTokenIds(PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                tokenRepository.deleteAllByIdInBatch(ids);
+                purged += ids.size();
+            }
+        } while (ids.size() == chunkSize);
+
+        if (purged > 0) {
+            log.info("Purged {} revoked or expired tokens", purged);
+        }
+    }
+}
@@ -1,36 +1,180 @@
 package com.taskmate.service;
 
-import com.taskmate.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.dto.TaskChange;
+import com.taskmate.dto.TaskChangeBatch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed task changes from {@link TaskChangeFeed} to WebSocket subscribers.
+ *
+ * Every {@code taskmate.websocket.flush-interval-ms} the changes since the last push are
+ * coalesced per task (field deltas merged, latest sequence kept) and sent as one
+ * {@link TaskChangeBatch} per destination: all changes on {@value #CHANGES_TOPIC}, and each
+ * assignee's own changes on their user topic. A client whose last seen sequence is below the
+ * batch's {@code fromSeq} has missed something and fetches the changes since its last sequence.
+ * A user batch starts where that user's previous batch ended; only the most recently pushed
+ * {@code taskmate.websocket.tracked-users} users are remembered, and any other user's batch
+ * starts at the newest sequence one of them was forgotten at.
+ *
+ * Per-user destinations are topics rather than queues so that, behind an external broker
+ * relay, every open session of a user receives each batch instead of competing for it.
+ */
 @Service
+@Slf4j
 public class WebSocketService {
 
+    static final String CHANGES_TOPIC = "/topic/task-changes";
+    static final String USER_TOPIC_PREFIX = "/topic/user.";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskChangeFeed changeFeed;
+
+    // Tagged broadcast or user rather than by destination, which has one per assignee
+    private final Timer broadcastSendTimer;
+    private final Timer userSendTimer;
+    private final DistributionSummary broadcastPayload;
+    private final DistributionSummary userPayload;
 
-    public WebSocketService(SimpMessagingTemplate messagingTemplate) {
+    private long lastBroadcastSeq;
+    // Sequence of the last batch each assignee's topic received, least recently sent first
+    private final Map<Integer, Long> lastSentToUser = new LinkedHashMap<>(16, 0.75f, true);
+    private final int trackedUsers;
+    // No user missing from lastSentToUser has had a change pushed after this
+    private long untrackedSince;
+
+    public WebSocketService(SimpMessagingTemplate messagingTemplate,
+                            ObjectMapper objectMapper,
+                            TaskChangeFeed changeFeed,
+                            MeterRegistry meterRegistry,
+                            @Value("${taskmate.websocket.tracked-users:10000}") int trackedUsers) {
         this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.changeFeed = changeFeed;
+        this.lastBroadcastSeq = changeFeed.currentSeq();
+        this.trackedUsers = trackedUsers;
+        this.untrackedSince = lastBroadcastSeq;
+        this.broadcastSendTimer = sendTimer(meterRegistry, "broadcast");
+        this.userSendTimer = sendTimer(meterRegistry, "user");
+        this.broadcastPayload = payloadSummary(meterRegistry, "broadcast");
+        this.userPayload = payloadSummary(meterRegistry, "user");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String destination) {
+        return Timer.builder("taskmate.websocket.send")
+                .description("Serializing a change batch and handing it to the broker")
+                .tag("destination", destination)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary payloadSummary(MeterRegistry meterRegistry, String destination) {
+        return DistributionSummary.builder("taskmate.websocket.payload")
+                .description("Size of a change batch as sent")
+                .baseUnit("bytes")
+                .tag("destination", destination)
+                .register(meterRegistry);
     }
 
-    public void notifyTaskCreated(Task task) {
-        messagingTemplate.convertAndSend("/topic/tasks", task);
-        if (task.getAssignedTo() != null) {
-            messagingTemplate.convertAndSend("/queue/user/" + task.getAssignedTo().getId(), task);
+    @Scheduled(fixedDelayString = "${taskmate.websocket.flush-interval-ms:200}")
+    public synchronized void flush() {
+        TaskChangeBatch pending = changeFeed.since(lastBroadcastSeq, null);
+        if (pending.getToSeq() == lastBroadcastSeq) {
+            return;
+        }
+
+        long fromSeq = lastBroadcastSeq;
+        long toSeq = pending.getToSeq();
+        // The feed already dropped part of the range: tell clients to reload
+        boolean resyncRequired = pending.isResyncRequired();
+        lastBroadcastSeq = toSeq;
+
+        try {
+            List<TaskChange> coalesced = coalesce(pending.getChanges());
+            send(CHANGES_TOPIC, new TaskChangeBatch(changeFeed.getSource(), fromSeq, toSeq, resyncRequired, coalesced));
+
+            Map<Integer, List<TaskChange>> byAssignee = new LinkedHashMap<>();
+            for (TaskChange change : coalesced) {
+                if (change.getAssigneeId() != null) {
+                    byAssignee.computeIfAbsent(change.getAssigneeId(), id -> new ArrayList<>()).add(change);
+                }
+            }
+            byAssignee.forEach((userId, changes) -> {
+                long userFromSeq = lastSentToUser.getOrDefault(userId, untrackedSince);
+                lastSentToUser.put(userId, toSeq);
+                send(USER_TOPIC_PREFIX + userId, new TaskChangeBatch(changeFeed.getSource(), userFromSeq, toSeq, resyncRequired, changes));
+            });
+            forgetOldestUsers();
+        } catch (Exception e) {
+            // Clients detect the missing sequence range and resync; keep the schedule alive
+            log.warn("Failed to push task changes over WebSocket", e);
         }
     }
 
-    public void notifyTaskUpdated(Task task) {
-        messagingTemplate.convertAndSend("/topic/tasks", task);
-        if (task.getAssignedTo() != null) {
-            messagingTemplate.convertAndSend("/queue/user/" + task.getAssignedTo().getId(), task);
+    private void forgetOldestUsers() {
+        Iterator<Long> oldest = lastSentToUser.values().iterator();
+        while (lastSentToUser.size() > trackedUsers) {
+            untrackedSince = Math.max(untrackedSince, oldest.next());
+            oldest.remove();
         }
     }
 
-    public void notifyTaskStatusChanged(Task task) {
-        messagingTemplate.convertAndSend("/topic/task-status", task);
-        if (task.getAssignedTo() != null) {
-            messagingTemplate.convertAndSend("/queue/user/" + task.getAssignedTo().getId(), task);
+    int trackedUsers() {
+        return lastSentToUser.size();
+    }
+
+    private List<TaskChange> coalesce(List<TaskChange> changes) {
+        Map<Long, TaskChange> byTask = new LinkedHashMap<>();
+        for (TaskChange change : changes) {
+            TaskChange merged = byTask.get(change.getTaskId());
+            if (merged == null) {
+                byTask.put(change.getTaskId(), copyOf(change));
+            } else {
+                merged.getFields().putAll(change.getFields());
+                merged.setSeq(change.getSeq());
+            }
+        }
+        return new ArrayList<>(byTask.values());
+    }
+
+    private TaskChange copyOf(TaskChange change) {
+        return new TaskChange(change.getSeq(), change.getType(), change.getTaskId(),
+                change.getAssigneeId(), new LinkedHashMap<>(change.getFields()));
+    }
+
+    private void send(String destination, TaskChangeBatch batch) {
+        boolean broadcast = CHANGES_TOPIC.equals(destination);
+        long start = System.nanoTime();
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task changes", e);
         }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+        (broadcast ? broadcastSendTimer : userSendTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (broadcast ? broadcastPayload : userPayload).record(payload.length);
     }
-} 
\ No newline at end of file
+}
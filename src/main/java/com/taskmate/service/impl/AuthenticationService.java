@@ -4,11 +4,9 @@ import com.taskmate.dto.AuthenticationRequest;
 import com.taskmate.dto.AuthenticationResponse;
 import com.taskmate.dto.RegisterRequest;
 import com.taskmate.model.Role;
-import com.taskmate.model.Token;
 import com.taskmate.model.User;
-import com.taskmate.repository.TokenRepository;
 import com.taskmate.repository.UserRepository;
-import com.taskmate.security.JwtService;
+import com.taskmate.security.TokenStore;
 import com.taskmate.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,7 +16,6 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -26,21 +23,15 @@ import java.util.Optional;
 public class AuthenticationService {
 
     private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
+    private final TokenStore tokenStore;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     
     // Clear all old tokens on startup
     @PostConstruct
     public void clearAllTokens() {
-        List<Token> allTokens = tokenRepository.findAll();
-        for (Token token : allTokens) {
-            token.setExpired(true);
-            token.setRevoked(true);
-        }
-        tokenRepository.saveAll(allTokens);
+        tokenStore.revokeAllTokens();
     }
 
     public AuthenticationResponse register(RegisterRequest request, Role role) {
@@ -69,8 +60,7 @@ public class AuthenticationService {
 
         userRepository.save(user);
 
-        String jwtToken = jwtService.generateToken(user.getEmail());
-        saveUserToken(user, jwtToken);
+        String jwtToken = tokenStore.issueToken(user);
 
         return new AuthenticationResponse(jwtToken);
     }
@@ -87,33 +77,13 @@ public class AuthenticationService {
             User user = userRepository.findByEmail(request.getEmail())
                     .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-            revokeAllUserTokens(user);
+            tokenStore.revokeAllTokens(user);
 
-            String jwtToken = jwtService.generateToken(user.getEmail());
-            saveUserToken(user, jwtToken);
+            String jwtToken = tokenStore.issueToken(user);
 
             return new AuthenticationResponse(jwtToken);
         } catch (Exception e) {
             throw e;
         }
     }
-
-    private void saveUserToken(User user, String jwtToken) {
-        Token token = Token.builder()
-                .user(user)
-                .token(jwtToken)
-                .expired(false)
-                .revoked(false)
-                .build();
-        tokenRepository.save(token);
-    }
-
-    private void revokeAllUserTokens(User user) {
-        List<Token> validTokens = tokenRepository.findAllByUser(user);
-        for (Token t : validTokens) {
-            t.setExpired(true);
-            t.setRevoked(true);
-        }
-        tokenRepository.saveAll(validTokens);
-    }
 }
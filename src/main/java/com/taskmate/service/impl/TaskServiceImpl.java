@@ -1,18 +1,33 @@
 package com.taskmate.service.impl;
 
+import com.taskmate.dto.BulkTaskItem;
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskStatusUpdate;
+import com.taskmate.dto.TaskView;
+import com.taskmate.event.TaskChangedEvent;
 import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
 import com.taskmate.model.TaskStatus;
 import com.taskmate.model.User;
 import com.taskmate.repository.TaskRepository;
 import com.taskmate.repository.UserRepository;
 import com.taskmate.service.EmailService;
 import com.taskmate.service.TaskService;
-import com.taskmate.service.WebSocketService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +36,7 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final WebSocketService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
     private final EmailService emailService;
 
     @Override
@@ -31,41 +46,157 @@ public class TaskServiceImpl implements TaskService {
         
         task.setAssignedTo(user);
         task.setStatus(TaskStatus.PENDING);
+        Instant now = Instant.now();
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setCompletedAt(null);
         
         Task savedTask = taskRepository.save(task);
 
         emailService.sendTaskAssignmentNotification(savedTask, user);
 
-        try {
-            webSocketService.notifyTaskCreated(savedTask);
-        } catch (Exception e) {
-            // WebSocket notification failed, but task was created successfully
-        }
+        // WebSocket push happens after commit, see WebSocketService
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                TaskChangedEvent.Type.CREATED, TaskView.from(savedTask), null));
 
         return savedTask;
     }
 
     @Override
-    public List<Task> getTasksByUser(User user) {
-        return taskRepository.findByAssignedTo(user);
+    public List<Task> createTasks(List<BulkTaskItem> items) {
+        Set<Integer> assigneeIds = new HashSet<>();
+        for (BulkTaskItem item : items) {
+            if (item.getAssigneeId() == null) {
+                throw new IllegalArgumentException("Every task needs an assigneeId");
+            }
+            assigneeIds.add(item.getAssigneeId());
+        }
+        // One lookup for all distinct assignees instead of one per task
+        Map<Integer, User> assignees = userRepository.findAllByIdIn(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        assigneeIds.removeAll(assignees.keySet());
+        if (!assigneeIds.isEmpty()) {
+            throw new IllegalArgumentException("Users not found with IDs: " + assigneeIds);
+        }
+
+        Instant now = Instant.now();
+        List<Task> tasks = new ArrayList<>(items.size());
+        for (BulkTaskItem item : items) {
+            Task task = new Task();
+            task.setTitle(item.getTitle());
+            task.setDescription(item.getDescription());
+            task.setDeadline(item.getDeadline());
+            task.setPriority(item.getPriority() != null ? item.getPriority() : TaskPriority.MEDIUM);
+            task.setComments(item.getComments());
+            task.setStatus(TaskStatus.PENDING);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setAssignedTo(assignees.get(item.getAssigneeId()));
+            tasks.add(task);
+        }
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+
+        for (Task savedTask : savedTasks) {
+            emailService.sendTaskAssignmentNotification(savedTask, savedTask.getAssignedTo());
+            // Coalesced with the rest of the bulk into one push per destination
+            eventPublisher.publishEvent(new TaskChangedEvent(
+                    TaskChangedEvent.Type.CREATED, TaskView.from(savedTask), null));
+        }
+        return savedTasks;
+    }
+
+    @Override
+    public List<TaskView> getTasksByUser(User user) {
+        return taskRepository.findViewsByAssigneeId(user.getId());
     }
 
     @Override
     public Task updateTaskStatus(Long taskId, String status) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findWithAssigneeById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         TaskStatus newStatus = TaskStatus.valueOf(status.toUpperCase());
-        task.setStatus(newStatus);
+        TaskStatus previousStatus = task.getStatus();
+        changeStatus(task, newStatus, Instant.now());
 
         Task updatedTask = taskRepository.save(task);
-        webSocketService.notifyTaskStatusChanged(updatedTask);
-        
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                TaskChangedEvent.Type.STATUS_CHANGED, TaskView.from(updatedTask), previousStatus));
+
         return updatedTask;
     }
 
     @Override
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public List<Task> updateTaskStatuses(List<TaskStatusUpdate> updates) {
+        Map<Long, TaskStatus> statusById = new LinkedHashMap<>();
+        for (TaskStatusUpdate update : updates) {
+            if (update.getTaskId() == null || update.getStatus() == null) {
+                throw new IllegalArgumentException("Every update needs a taskId and a status");
+            }
+            statusById.put(update.getTaskId(), update.getStatus());
+        }
+
+        List<Task> tasks = taskRepository.findAllWithAssigneeByIdIn(statusById.keySet());
+        if (tasks.size() != statusById.size()) {
+            Set<Long> missing = new HashSet<>(statusById.keySet());
+            tasks.forEach(task -> missing.remove(task.getId()));
+            throw new IllegalArgumentException("Tasks not found with IDs: " + missing);
+        }
+
+        // Dirty checking flushes the changes as batched updates at commit
+        Instant now = Instant.now();
+        for (Task task : tasks) {
+            TaskStatus previousStatus = task.getStatus();
+            changeStatus(task, statusById.get(task.getId()), now);
+            eventPublisher.publishEvent(new TaskChangedEvent(
+                    TaskChangedEvent.Type.STATUS_CHANGED, TaskView.from(task), previousStatus));
+        }
+        return tasks;
+    }
+
+    private static void changeStatus(Task task, TaskStatus newStatus, Instant now) {
+        if (newStatus == TaskStatus.COMPLETED && task.getStatus() != TaskStatus.COMPLETED) {
+            task.setCompletedAt(now);
+        } else if (newStatus != TaskStatus.COMPLETED) {
+            task.setCompletedAt(null);
+        }
+        task.setStatus(newStatus);
+        task.setUpdatedAt(now);
+    }
+
+    @Override
+    public List<TaskView> getAllTasks() {
+        return taskRepository.findAllViews();
+    }
+
+    @Override
+    public TaskPage getTaskPage(TaskPageRequest request) {
+        int size = request.getSize() == null ? TaskPageRequest.DEFAULT_SIZE
+                : Math.max(1, Math.min(request.getSize(), TaskPageRequest.MAX_SIZE));
+        boolean byDeadline = "deadline".equalsIgnoreCase(request.getSort());
+        if (!byDeadline && request.getSort() != null && !"id".equalsIgnoreCase(request.getSort())) {
+            throw new IllegalArgumentException("Unsupported sort: " + request.getSort());
+        }
+
+        if (byDeadline && (request.getAfterDeadline() == null) != (request.getAfterId() == null)) {
+            throw new IllegalArgumentException("afterDeadline and afterId must be sent together");
+        }
+        if (!byDeadline && request.getAfterDeadline() != null) {
+            throw new IllegalArgumentException("afterDeadline only applies to sort=deadline");
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<TaskView> rows = taskRepository.findPage(request, byDeadline, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<TaskView> items = hasMore ? rows.subList(0, size) : rows;
+        TaskView last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return TaskPage.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextAfterId(last != null ? last.getId() : null)
+                .nextAfterDeadline(byDeadline && last != null ? last.getDeadline() : null)
+                .build();
     }
 }
@@ -3,6 +3,7 @@ package com.taskmate.service.impl;
 import com.taskmate.dto.UserProfileRequest;
 import com.taskmate.model.User;
 import com.taskmate.repository.UserRepository;
+import com.taskmate.security.UserPrincipalCache;
 import com.taskmate.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +18,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     public Optional<User> findById(Long id) {
@@ -89,6 +91,9 @@ public class UserServiceImpl implements UserService {
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userPrincipalCache.invalidate(email);
+        userPrincipalCache.invalidate(saved.getEmail());
+        return saved;
     }
 }
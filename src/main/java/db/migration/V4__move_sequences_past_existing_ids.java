@@ -0,0 +1,37 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Restarts the id sequences of tables whose ids used to be IDENTITY columns past the ids already
+ * in them; a database Hibernate created before migrations existed gets these sequences from V1
+ * starting at 1. Hibernate's pooled optimizer hands out the 50 ids up to each value it reads, so
+ * the sequence restarts 50 above the current maximum. In Java because neither H2 nor PostgreSQL
+ * accept a subquery in ALTER SEQUENCE ... RESTART.
+ */
+public class V4__move_sequences_past_existing_ids extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            restartPastMaxId(statement, "tasks_seq", "tasks");
+            restartPastMaxId(statement, "email_outbox_seq", "email_outbox");
+        }
+    }
+
+    private static void restartPastMaxId(Statement statement, String sequence, String table) throws SQLException {
+        long maxId;
+        try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        statement.execute("alter sequence " + sequence + " restart with " + (maxId + ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,70 @@
+-- Baseline schema. Hibernate only validates it (ddl-auto=validate); every change after this
+-- goes into a new V<n>__*.sql file. Kept to SQL that H2 accepts in both its default and
+-- PostgreSQL modes (see the pgcompat profile).
+--
+-- Every statement is IF NOT EXISTS: a database Hibernate created before migrations existed is
+-- baselined at version 0, so this only adds what it lacks, and V3 and V4 bring its existing
+-- tables forward.
+
+create sequence if not exists tasks_seq start with 1 increment by 50;
+create sequence if not exists email_outbox_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id integer generated by default as identity,
+    name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    role varchar(255) constraint ck_users_role check (role in ('ADMIN', 'USER')),
+    token_version integer not null default 0,
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table if not exists tasks (
+    id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    deadline date,
+    status varchar(255) constraint ck_tasks_status check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    priority varchar(255) constraint ck_tasks_priority check (priority in ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    comments text,
+    user_id integer,
+    constraint pk_tasks primary key (id),
+    constraint fk_tasks_user foreign key (user_id) references users (id)
+);
+
+create table if not exists token (
+    id bigint generated by default as identity,
+    token varchar(255),
+    revoked boolean not null,
+    expired boolean not null,
+    user_id integer,
+    constraint pk_token primary key (id),
+    constraint fk_token_user foreign key (user_id) references users (id)
+);
+
+create table if not exists email_outbox (
+    id bigint not null,
+    recipient varchar(255) not null,
+    recipient_name varchar(255),
+    task_id bigint,
+    task_title varchar(255),
+    status varchar(255) not null constraint ck_email_outbox_status check (status in ('PENDING', 'FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    last_error varchar(1000),
+    created_at timestamp(6) with time zone not null,
+    constraint pk_email_outbox primary key (id)
+);
+
+-- Keyset pagination: each index ends in id so (filter, cursor) is a range scan.
+-- idx_tasks_user_id serves lookups by tasks.user_id, idx_tasks_status_priority by tasks.status.
+create index if not exists idx_tasks_user_id on tasks (user_id, id);
+create index if not exists idx_tasks_status_priority on tasks (status, priority, id);
+create index if not exists idx_tasks_deadline on tasks (deadline, id);
+
+-- Bearer token lookups (every authenticated request in persisted mode) and per-user revocation
+create unique index if not exists uk_token_token on token (token);
+create index if not exists idx_token_user_id on token (user_id);
+
+create index if not exists idx_email_outbox_due on email_outbox (status, next_attempt_at, id);
@@ -0,0 +1,20 @@
+-- Lifecycle timestamps; tasks created before this migration keep them empty
+alter table tasks add column created_at timestamp(6) with time zone;
+alter table tasks add column updated_at timestamp(6) with time zone;
+alter table tasks add column completed_at timestamp(6) with time zone;
+
+-- Snapshots of the in-memory throughput rollups (TaskThroughputRollups), restored at startup.
+-- assignee_id 0 holds the counts across all assignees; bucket is the epoch minute, hour or day.
+create sequence task_throughput_buckets_seq start with 1 increment by 50;
+
+create table task_throughput_buckets (
+    id bigint not null,
+    assignee_id integer not null,
+    series varchar(16) not null check (series in ('CREATED', 'COMPLETED')),
+    resolution varchar(16) not null check (resolution in ('MINUTE', 'HOUR', 'DAY')),
+    bucket bigint not null,
+    task_count bigint not null,
+    constraint pk_task_throughput_buckets primary key (id)
+);
+
+create unique index uk_task_throughput_buckets on task_throughput_buckets (resolution, bucket, series, assignee_id);
@@ -0,0 +1,15 @@
+-- Brings a database that Hibernate created before migrations existed (baselined at version 0)
+-- to the shape V1 creates. On a database created by V1 every statement is a no-op.
+
+-- Missing if the database predates the stateless token mode
+alter table users add column if not exists token_version integer not null default 0;
+
+-- Hibernate stored enums in native H2 ENUM columns; V1 uses varchar with a check
+alter table users alter column role set data type varchar(255);
+alter table tasks alter column status set data type varchar(255);
+alter table tasks alter column priority set data type varchar(255);
+alter table email_outbox alter column status set data type varchar(255);
+alter table users add constraint if not exists ck_users_role check (role in ('ADMIN', 'USER'));
+alter table tasks add constraint if not exists ck_tasks_status check (status in ('PENDING', 'IN_PROGRESS', 'COMPLETED'));
+alter table tasks add constraint if not exists ck_tasks_priority check (priority in ('LOW', 'MEDIUM', 'HIGH', 'URGENT'));
+alter table email_outbox add constraint if not exists ck_email_outbox_status check (status in ('PENDING', 'FAILED'));
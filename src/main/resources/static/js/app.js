@@ -3,6 +3,11 @@ let currentUser = null;
 let stompClient = null;
 let authToken = null;
 
+// Tasks currently shown, by id, kept current by WebSocket change batches
+let taskState = new Map();
+// Last applied change sequence per source node
+let lastChangeSeqs = new Map();
+
 // API Base URL - Dynamic for deployment
 const API_BASE = window.location.hostname === 'localhost' || window.location.hostname === '127.0.0.1' 
     ? 'http://localhost:8080/api' 
@@ -226,10 +231,11 @@ async function loadAdminDashboard() {
             const tasks = await tasksResponse.json();
             console.log('📋 Tasks loaded:', tasks.length, 'tasks');
             tasks.forEach((task, index) => {
-                console.log(`📋 Task ${index + 1}: ${task.title} (ID: ${task.id}) - Assigned to: ${task.assignedTo?.name || 'Unknown'}`);
+                console.log(`📋 Task ${index + 1}: ${task.title} (ID: ${task.id}) - Assigned to: ${task.assigneeName || 'Unknown'}`);
             });
+            setTaskState(tasks, tasksResponse);
             displayTasks(tasks, 'allTasksList');
-            await updateStats(tasks);
+            await updateStats();
         } else {
             console.error('❌ Failed to load tasks:', tasksResponse.status, tasksResponse.statusText);
             const errorText = await tasksResponse.text();
@@ -287,6 +293,7 @@ async function loadUserDashboard() {
             tasks.forEach((task, index) => {
                 console.log(`📋 Task ${index + 1}: ${task.title} (ID: ${task.id}) - Status: ${task.status}`);
             });
+            setTaskState(tasks, response);
             displayTasks(tasks, 'userTasksList');
         } else {
             console.error('❌ Failed to load user tasks:', response.status, response.statusText);
@@ -347,11 +354,9 @@ async function handleCreateTask(event) {
             // Clear form
             document.getElementById('createTaskForm').reset();
             
-            // Force reload dashboard with delay to ensure backend processing
-            setTimeout(async () => {
-                console.log('🔄 Reloading dashboard after task creation...');
-                await loadDashboardData();
-            }, 500);
+            // Show it right away; the WebSocket change for it is applied idempotently
+            taskState.set(task.id, task);
+            renderTaskState();
         } else {
             const errorText = await response.text();
             console.error('❌ Failed to create task:', response.status, errorText);
@@ -373,8 +378,10 @@ async function updateTaskStatus(taskId, status) {
         });
         
         if (response.ok) {
+            const task = await response.json();
             showNotification('Task status updated!', 'success');
-            await loadDashboardData();
+            taskState.set(task.id, task);
+            renderTaskState();
         } else {
             showNotification('Failed to update task status.', 'error');
         }
@@ -426,7 +433,7 @@ function createTaskCard(task) {
         
         ${task.comments ? `<div class="task-comments">${task.comments}</div>` : ''}
         
-        ${task.assignedTo ? `<div class="task-assignee">Assigned to: ${task.assignedTo.name}</div>` : ''}
+        ${task.assigneeName ? `<div class="task-assignee">Assigned to: ${task.assigneeName}</div>` : ''}
         
         ${currentUser.role === 'USER' ? `
             <div class="task-actions">
@@ -447,17 +454,8 @@ function createTaskCard(task) {
     return card;
 }
 
-async function updateStats(tasks) {
-    console.log('📊 Updating stats with tasks:', tasks);
-    
-    // Update task counts
-    const totalTasks = tasks.length;
-    const pendingTasks = tasks.filter(t => t.status === 'PENDING').length;
-    
-    document.getElementById('totalTasks').textContent = totalTasks;
-    document.getElementById('pendingTasks').textContent = pendingTasks;
-    
-    console.log('📈 Task stats - Total:', totalTasks, 'Pending:', pendingTasks);
+async function updateStats() {
+    await loadTaskStats();
     
     // Update total users count by making a separate API call
     try {
@@ -481,6 +479,27 @@ async function updateStats(tasks) {
     }
 }
 
+// Task counts come from the server's aggregate counters instead of the task list
+async function loadTaskStats() {
+    try {
+        const response = await fetch(`${API_BASE}/task/aggregates`, {
+            headers: {
+                'Authorization': `Bearer ${authToken}`
+            }
+        });
+        if (response.ok) {
+            const aggregates = await response.json();
+            document.getElementById('totalTasks').textContent = aggregates.total;
+            document.getElementById('pendingTasks').textContent = aggregates.byStatus.PENDING || 0;
+            console.log('📈 Task stats - Total:', aggregates.total, 'Pending:', aggregates.byStatus.PENDING);
+        } else {
+            console.error('❌ Failed to load task stats:', response.status);
+        }
+    } catch (error) {
+        console.error('❌ Error loading task stats:', error);
+    }
+}
+
 function populateUserSelect(users) {
     const select = document.getElementById('taskAssignee');
     select.innerHTML = '<option value="">Select User</option>';
@@ -596,31 +615,108 @@ function connectWebSocket() {
     stompClient.connect({}, function(frame) {
         console.log('Connected to WebSocket');
         
-        // Subscribe to task updates
-        stompClient.subscribe('/topic/tasks', function(message) {
-            const task = JSON.parse(message.body);
-            showNotification(`Task updated: ${task.title}`, 'info');
-            loadDashboardData();
+        // Admins follow every change, users only changes to their own tasks
+        const destination = currentUser && currentUser.role === 'ADMIN'
+            ? '/topic/task-changes'
+            : `/topic/user.${currentUser.id}`;
+        stompClient.subscribe(destination, function(message) {
+            handleChangeBatch(JSON.parse(message.body));
         });
-        
-        // Subscribe to task status changes
-        stompClient.subscribe('/topic/task-status', function(message) {
-            const task = JSON.parse(message.body);
-            showNotification(`Task status changed: ${task.title} is now ${task.status}`, 'info');
-            loadDashboardData();
-        });
-        
-        // Subscribe to user-specific notifications
-        if (currentUser) {
-            stompClient.subscribe(`/queue/user/${currentUser.id}`, function(message) {
-                const task = JSON.parse(message.body);
-                showNotification(`New task assigned: ${task.title}`, 'info');
-                loadDashboardData();
-            });
+    });
+}
+
+// Change feed Functions
+function setTaskState(tasks, response) {
+    taskState = new Map(tasks.map(task => [task.id, task]));
+    // The list is current up to this sequence: later batches apply on top, gaps go to /changes
+    const source = response.headers.get('X-Change-Source');
+    const seq = response.headers.get('X-Change-Seq');
+    if (source && seq !== null) {
+        lastChangeSeqs.set(source, Number(seq));
+    }
+}
+
+function renderTaskState() {
+    const tasks = Array.from(taskState.values());
+    if (currentUser.role === 'ADMIN') {
+        displayTasks(tasks, 'allTasksList');
+        loadTaskStats();
+    } else {
+        displayTasks(tasks, 'userTasksList');
+    }
+}
+
+function applyChanges(changes, lastSeq) {
+    changes.forEach(change => {
+        if (lastSeq !== null && change.seq <= lastSeq) {
+            return; // already applied
+        }
+        const existing = taskState.get(change.taskId);
+        if (existing) {
+            Object.assign(existing, change.fields);
+        } else if (change.type === 'CREATED') {
+            taskState.set(change.taskId, { ...change.fields });
         }
     });
 }
 
+async function handleChangeBatch(batch) {
+    const lastSeq = lastChangeSeqs.get(batch.source) ?? null;
+    if (batch.resyncRequired) {
+        lastChangeSeqs.set(batch.source, batch.toSeq);
+        await loadDashboardData();
+        return;
+    }
+    if (lastSeq !== null && batch.fromSeq > lastSeq) {
+        // Missed at least one batch: fetch only what we missed
+        await resyncChanges(batch.source, lastSeq);
+        return;
+    }
+    applyChanges(batch.changes, lastSeq);
+    lastChangeSeqs.set(batch.source, Math.max(lastSeq ?? 0, batch.toSeq));
+    renderTaskState();
+
+    if (batch.changes.length === 1) {
+        const change = batch.changes[0];
+        const title = taskState.get(change.taskId)?.title || 'Task';
+        showNotification(change.type === 'CREATED'
+            ? `New task: ${title}`
+            : `Task updated: ${title}${change.fields.status ? ` is now ${change.fields.status}` : ''}`, 'info');
+    } else if (batch.changes.length > 1) {
+        showNotification(`${batch.changes.length} tasks updated`, 'info');
+    }
+}
+
+async function resyncChanges(source, since) {
+    const url = currentUser.role === 'ADMIN'
+        ? `${API_BASE}/task/changes?source=${source}&since=${since}`
+        : `${API_BASE}/user/changes?source=${source}&since=${since}`;
+    try {
+        const response = await fetch(url, {
+            headers: {
+                'Authorization': `Bearer ${authToken}`
+            }
+        });
+        const batch = response.ok ? await response.json() : null;
+        if (!batch || batch.resyncRequired) {
+            // Another node may have answered: only its own numbering is known afterwards
+            if (batch && batch.source === source) {
+                lastChangeSeqs.set(source, batch.toSeq);
+            } else {
+                lastChangeSeqs.delete(source);
+            }
+            await loadDashboardData();
+            return;
+        }
+        applyChanges(batch.changes, since);
+        lastChangeSeqs.set(source, batch.toSeq);
+        renderTaskState();
+    } catch (error) {
+        console.error('❌ Error fetching missed task changes:', error);
+        await loadDashboardData();
+    }
+}
+
 // Utility Functions
 function showNotification(message, type) {
     const notification = document.createElement('div');
@@ -0,0 +1,126 @@
+package com.taskmate.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.TaskmateApplication;
+import com.taskmate.dto.TaskView;
+import com.taskmate.event.TaskChangedEvent;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application nodes on one machine, both relaying to an embedded STOMP broker:
+ * a change committed on node A must reach a WebSocket client connected to node B.
+ */
+class BrokerRelayTwoNodeTests {
+
+    private EmbeddedStompBroker broker;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void startNodes() {
+        broker = new EmbeddedStompBroker(0);
+        broker.start();
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        broker.stop();
+    }
+
+    @Test
+    void changeOnOneNodeReachesSubscribersOfTheOther() throws Exception {
+        int portB = ((WebServerApplicationContext) nodeB).getWebServer().getPort();
+        StompSession session = stompClient
+                .connectAsync("ws://localhost:" + portB + "/ws/websocket", new StompSessionHandlerAdapter() { })
+                .get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<byte[]> allChanges = new LinkedBlockingQueue<>();
+        BlockingQueue<byte[]> userChanges = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/task-changes", collectInto(allChanges));
+        session.subscribe("/topic/user.7", collectInto(userChanges));
+
+        // Subscriptions travel to the broker asynchronously, each on its own: keep committing
+        // until both topics have delivered
+        byte[] received = null;
+        byte[] forUser = null;
+        for (int attempt = 0; attempt < 30 && (received == null || forUser == null); attempt++) {
+            nodeA.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, taskFor(7), null));
+            received = received != null ? received : allChanges.poll(500, TimeUnit.MILLISECONDS);
+            forUser = forUser != null ? forUser : userChanges.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(received).as("batch pushed by node A, received via node B").isNotNull();
+        JsonNode batch = new ObjectMapper().readTree(received);
+        assertThat(batch.get("source").asText()).isEqualTo("node-a");
+        assertThat(batch.get("changes").get(0).get("taskId").asLong()).isEqualTo(42L);
+
+        assertThat(forUser).as("user batch pushed by node A, received via node B").isNotNull();
+        assertThat(new ObjectMapper().readTree(forUser).get("changes").get(0).get("assigneeId").asInt()).isEqualTo(7);
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(TaskmateApplication.class).run(
+                "--server.port=0",
+                "--taskmate.node-id=" + nodeId,
+                "--taskmate.db-name=" + nodeId,
+                "--management.server.port=0",
+                "--taskmate.websocket.broker=relay",
+                "--taskmate.websocket.relay.host=127.0.0.1",
+                "--taskmate.websocket.relay.port=" + broker.getPort(),
+                "--taskmate.websocket.flush-interval-ms=50");
+    }
+
+    private static TaskView taskFor(int assigneeId) {
+        return new TaskView(42L, "Replicated", "pushed through the broker", LocalDate.now().plusDays(1),
+                TaskStatus.PENDING, TaskPriority.MEDIUM, null, assigneeId, "Node Test");
+    }
+
+    private static StompFrameHandler collectInto(BlockingQueue<byte[]> queue) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                queue.add((byte[]) payload);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskmate.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A frame missing a header its command requires is answered with an ERROR frame and the
+ * connection is closed, while the broker keeps serving other connections.
+ */
+class EmbeddedStompBrokerTests {
+
+    private EmbeddedStompBroker broker;
+
+    @BeforeEach
+    void startBroker() {
+        broker = new EmbeddedStompBroker(0);
+        broker.start();
+    }
+
+    @AfterEach
+    void stopBroker() {
+        broker.stop();
+    }
+
+    @Test
+    void framesWithoutRequiredHeadersGetAnError() throws Exception {
+        assertRejected("SUBSCRIBE\ndestination:/topic/a\n\n", "SUBSCRIBE requires the id header");
+        assertRejected("SUBSCRIBE\nid:0\n\n", "SUBSCRIBE requires the destination header");
+        assertRejected("UNSUBSCRIBE\n\n", "UNSUBSCRIBE requires the id header");
+        assertRejected("SEND\n\nhello", "SEND requires the destination header");
+
+        try (Socket socket = connect()) {
+            send(socket, "SUBSCRIBE\nid:0\ndestination:/topic/a\nreceipt:r1\n\n");
+            assertThat(read(socket)).startsWith("RECEIPT\n");
+            send(socket, "SEND\ndestination:/topic/a\n\nhello");
+            assertThat(read(socket)).startsWith("MESSAGE\n").contains("subscription:0\n").endsWith("\n\nhello");
+        }
+    }
+
+    private void assertRejected(String frame, String message) throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, frame);
+            assertThat(read(socket)).startsWith("ERROR\n").contains("message:" + message + "\n");
+            assertThat(socket.getInputStream().read()).as("connection closed").isEqualTo(-1);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), broker.getPort());
+        socket.setSoTimeout(5000);
+        send(socket, "CONNECT\naccept-version:1.2\n\n");
+        assertThat(read(socket)).startsWith("CONNECTED\n");
+        return socket;
+    }
+
+    private static void send(Socket socket, String frame) throws IOException {
+        socket.getOutputStream().write((frame + "\0").getBytes(StandardCharsets.UTF_8));
+        socket.getOutputStream().flush();
+    }
+
+    private static String read(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) > 0) {
+            frame.write(b);
+        }
+        return frame.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmate.config;
+
+import com.taskmate.TaskmateApplication;
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.dto.BulkTaskItem;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.service.TaskService;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * A database that Hibernate created before Flyway, with rows in it, is baselined and migrated
+ * on startup: the entities validate against the result, the indexes and columns added since
+ * exist, the old rows and user still work and new rows get ids past the old ones.
+ */
+class LegacySchemaUpgradeTests {
+
+    private static final String DB_NAME = "legacy_upgrade_test";
+    // BCrypt of "pw", as stored before passwords carried an {id} prefix
+    private static final String LEGACY_HASH = "$2a$10$VMfVGNAuROTB9v7p1Sm1r.zmCrD1WFE1JivRSd3aZxZCPggJCAV5K";
+
+    private Connection keepAlive;
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (keepAlive != null) {
+            keepAlive.close();
+        }
+    }
+
+    @Test
+    void migratesABaselineSchemaWithData() throws Exception {
+        // Pre-Flyway databases only ever existed as native-mode H2 files
+        assumeFalse("pgcompat".equals(System.getProperty("spring.profiles.include")));
+        keepAlive = DriverManager.getConnection("jdbc:h2:mem:" + DB_NAME + ";DB_CLOSE_DELAY=-1", "sa", "password");
+        ScriptUtils.executeSqlScript(keepAlive, new ClassPathResource("db/legacy/baseline_schema.sql"));
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("insert into users (email, name, password, role) values ('old@gmail.com', 'Old', '" + LEGACY_HASH + "', 'USER')");
+            statement.execute("insert into tasks (title, status, priority, user_id) values "
+                    + "('first', 'PENDING', 'HIGH', 1), ('second', 'COMPLETED', 'LOW', 1), ('third', 'IN_PROGRESS', 'MEDIUM', 1)");
+        }
+
+        context = new SpringApplicationBuilder(TaskmateApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--taskmate.db-name=" + DB_NAME,
+                "--spring.flyway.baseline-on-migrate=true",
+                "--spring.flyway.baseline-version=0");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        assertThat(jdbc.queryForList("select \"version\" from \"flyway_schema_history\" where \"success\" and \"version\" is not null order by \"installed_rank\"", String.class))
+                .startsWith("0", "1", "2", "3", "4");
+        assertThat(jdbc.queryForList("select index_name from information_schema.indexes where table_schema = 'PUBLIC'", String.class))
+                .contains("UK_TOKEN_TOKEN", "IDX_TOKEN_USER_ID", "IDX_TASKS_USER_ID", "IDX_TASKS_STATUS_PRIORITY",
+                        "IDX_TASKS_DEADLINE", "IDX_EMAIL_OUTBOX_DUE");
+        assertThat(jdbc.queryForObject("select token_version from users where email = 'old@gmail.com'", Integer.class)).isZero();
+
+        TaskService taskService = context.getBean(TaskService.class);
+        List<TaskView> tasks = taskService.getAllTasks();
+        assertThat(tasks).extracting(TaskView::getStatus)
+                .containsExactlyInAnyOrder(TaskStatus.PENDING, TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS);
+
+        // The id sequences start past the rows inserted through the old IDENTITY columns
+        Task created = taskService.createTask(newTask(), 1L);
+        List<Task> bulk = taskService.createTasks(List.of(
+                BulkTaskItem.builder().title("bulk one").deadline(LocalDate.now()).assigneeId(1).build(),
+                BulkTaskItem.builder().title("bulk two").deadline(LocalDate.now()).assigneeId(1).build()));
+        assertThat(created.getId()).isGreaterThan(3);
+        assertThat(bulk).extracting(Task::getId).allMatch(id -> id > 3);
+        assertThat(jdbc.queryForObject("select count(*) from tasks", Integer.class)).isEqualTo(6);
+
+        String token = context.getBean(AuthenticationService.class)
+                .authenticate(new AuthenticationRequest("old@gmail.com", "pw"))
+                .getToken();
+        assertThat(token).isNotBlank();
+    }
+
+    private static Task newTask() {
+        Task task = new Task();
+        task.setTitle("after upgrade");
+        task.setDeadline(LocalDate.now());
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskmate.config;
+
+import com.taskmate.dto.AuthenticationResponse;
+import com.taskmate.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An authenticated request shows up in the Prometheus scrape on the management port, with
+ * histogram buckets for the request and the auth and repository timers. Tests export no
+ * metrics unless asked, hence {@link AutoConfigureObservability}.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "taskmate.db-name=metrics_endpoint_test")
+class MetricsEndpointTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusScrapeCoversTheAuthenticatedRequestPath() {
+        assertThat(managementPort).isNotEqualTo(port);
+
+        String email = "m-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        AuthenticationResponse registered = restTemplate.postForObject("/api/auth/register-user",
+                new RegisterRequest("Metrics", email, "secret123"), AuthenticationResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(registered.getToken());
+        ResponseEntity<String> tasks = restTemplate.exchange("/api/user/tasks?email=" + email, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertThat(tasks.getStatusCode().is2xxSuccessful()).isTrue();
+
+        String scrape = restTemplate.getForObject(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("taskmate_auth_jwt_parse_seconds_bucket{")
+                .contains("taskmate_auth_user_lookup_seconds_count{")
+                .containsPattern("taskmate_user_cache_total\\{.*result=\"miss\"")
+                .contains("taskmate_jwt_verify_seconds_count{application=\"taskmate\",outcome=\"valid\"}")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .containsPattern("taskmate_mail_outbox_size\\{.*status=\"pending\"");
+    }
+}
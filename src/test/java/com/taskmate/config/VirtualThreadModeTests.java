@@ -0,0 +1,51 @@
+package com.taskmate.config;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With {@code spring.threads.virtual.enabled} Tomcat and the WebSocket client channels
+ * hand work to virtual threads. Surefire runs with {@code -Djdk.tracePinnedThreads=short},
+ * so any pinning on these paths shows up in the test output.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmate.db-name=virtual_threads_test",
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadModeTests {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private ExecutorSubscribableChannel clientInboundChannel;
+
+    @Test
+    void requestsAndWebSocketChannelsRunOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor())
+                .isInstanceOf(VirtualThreadExecutor.class);
+        assertThat(clientOutboundChannel.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+        assertThat(clientInboundChannel.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+
+        assertThat(restTemplate.getForEntity("/api/health", String.class).getStatusCode().is2xxSuccessful()).isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmate.controller;
+
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MainControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void indexIsConditionalAndLeavesDataAlone() throws Exception {
+        String email = "keep-" + UUID.randomUUID() + "@gmail.com";
+        userRepository.save(User.builder().name("Keep").email(email).password("x").role(Role.USER).build());
+
+        MvcResult first = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+
+        mockMvc.perform(get("/").header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+
+        assertThat(userRepository.findByEmail(email)).isPresent();
+    }
+
+    @Test
+    void assetsAreLinkedByContentHashAndServedPrecompressed() throws Exception {
+        String html = mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+        Matcher script = Pattern.compile("src=\"(/js/app-[0-9a-f]{32}\\.js)\"").matcher(html);
+        assertThat(script.find()).as("versioned app.js link").isTrue();
+        assertThat(html).containsPattern("href=\"/css/style-[0-9a-f]{32}\\.css\"");
+
+        mockMvc.perform(get(script.group(1)).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void onlyVersionedAssetUrlsAreImmutable() throws Exception {
+        String html = mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+        Matcher style = Pattern.compile("href=\"(/css/style-[0-9a-f]{32}\\.css)\"").matcher(html);
+        assertThat(style.find()).as("versioned style.css link").isTrue();
+        mockMvc.perform(get(style.group(1)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+
+        for (String plain : new String[]{"/js/app.js", "/css/style.css"}) {
+            MvcResult first = mockMvc.perform(get(plain))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andReturn();
+            mockMvc.perform(get(plain).header("If-Modified-Since", first.getResponse().getHeader("Last-Modified")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("Cache-Control", "no-cache"));
+        }
+    }
+}
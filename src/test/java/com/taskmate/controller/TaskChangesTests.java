@@ -0,0 +1,211 @@
+package com.taskmate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.dto.RegisterRequest;
+import com.taskmate.dto.TaskChange;
+import com.taskmate.dto.TaskChangeBatch;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.service.TaskService;
+import com.taskmate.service.UserService;
+import com.taskmate.service.WebSocketService;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The sequence protocol between task lists, WebSocket batches and {@code /changes}: lists say
+ * where in the feed they were read, {@code /changes} returns exactly what came after, a batch
+ * whose {@code fromSeq} is past the client's last sequence is a gap that {@code /changes}
+ * fills, and a position the feed no longer holds asks for a full reload.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=task_changes_test",
+        "taskmate.websocket.flush-interval-ms=3600000",
+        "taskmate.websocket.feed-capacity=20"
+})
+@AutoConfigureMockMvc
+class TaskChangesTests {
+
+    private static String adminEmail;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Test
+    void listsCarryTheirFeedPositionAndChangesFollowIt() throws Exception {
+        String adminToken = adminToken();
+        String aliceEmail = shortEmail();
+        String aliceToken = register(aliceEmail, Role.USER);
+        Integer aliceId = userService.findByEmail(aliceEmail).orElseThrow().getId();
+        Integer bobId = userService.findByEmail(registerEmail(Role.USER)).orElseThrow().getId();
+
+        MockHttpServletResponse list = fetch("/api/task", adminToken);
+        String source = list.getHeader(ChangeFeedHeaders.SOURCE);
+        long seq = Long.parseLong(list.getHeader(ChangeFeedHeaders.SEQ));
+        assertThat(source).isNotBlank();
+        assertThat(fetch("/api/task/page", adminToken).getHeader(ChangeFeedHeaders.SEQ)).isEqualTo(Long.toString(seq));
+        assertThat(fetch("/api/user/tasks?email=" + aliceEmail, aliceToken).getHeader(ChangeFeedHeaders.SEQ))
+                .isEqualTo(Long.toString(seq));
+        assertThat(fetch("/api/user/tasks/page", aliceToken).getHeader(ChangeFeedHeaders.SOURCE))
+                .isEqualTo(source);
+
+        Task alices = taskService.createTask(newTask(), aliceId.longValue());
+        taskService.createTask(newTask(), bobId.longValue());
+        taskService.updateTaskStatus(alices.getId(), "COMPLETED");
+
+        TaskChangeBatch all = changes("/api/task/changes?source=" + source + "&since=" + seq, adminToken);
+        assertThat(all.isResyncRequired()).isFalse();
+        assertThat(all.getFromSeq()).isEqualTo(seq);
+        assertThat(all.getToSeq()).isEqualTo(seq + 3);
+        assertThat(all.getChanges()).extracting(TaskChange::getSeq).containsExactly(seq + 1, seq + 2, seq + 3);
+
+        TaskChangeBatch own = changes("/api/user/changes?source=" + source + "&since=" + seq, aliceToken);
+        assertThat(own.getToSeq()).isEqualTo(seq + 3);
+        assertThat(own.getChanges()).extracting(TaskChange::getTaskId).containsOnly(alices.getId());
+        assertThat(own.getChanges()).extracting(TaskChange::getType)
+                .containsExactly(TaskChange.Type.CREATED, TaskChange.Type.UPDATED);
+
+        // Caught up: nothing after the last sequence
+        assertThat(changes("/api/task/changes?source=" + source + "&since=" + (seq + 3), adminToken).getChanges())
+                .isEmpty();
+    }
+
+    @Test
+    void missedBatchIsDetectedAndRecoveredThroughChanges() throws Exception {
+        String adminToken = adminToken();
+        Integer userId = userService.findByEmail(registerEmail(Role.USER)).orElseThrow().getId();
+        webSocketService.flush();
+
+        long seq = Long.parseLong(fetch("/api/task", adminToken).getHeader(ChangeFeedHeaders.SEQ));
+        Task task = taskService.createTask(newTask(), userId.longValue());
+        // This batch never reaches the client
+        webSocketService.flush();
+        clearInvocations(messagingTemplate);
+
+        taskService.updateTaskStatus(task.getId(), "IN_PROGRESS");
+        webSocketService.flush();
+        TaskChangeBatch pushed = lastBroadcast();
+        assertThat(pushed.getFromSeq()).as("gap after the client's last sequence").isGreaterThan(seq);
+        assertThat(pushed.getChanges()).singleElement()
+                .satisfies(change -> assertThat(change.getType()).isEqualTo(TaskChange.Type.UPDATED));
+
+        TaskChangeBatch missed = changes("/api/task/changes?source=" + pushed.getSource() + "&since=" + seq, adminToken);
+        assertThat(missed.isResyncRequired()).isFalse();
+        assertThat(missed.getToSeq()).isEqualTo(pushed.getToSeq());
+        assertThat(missed.getChanges()).extracting(TaskChange::getTaskId).containsOnly(task.getId());
+        assertThat(missed.getChanges().get(0).getType()).isEqualTo(TaskChange.Type.CREATED);
+        assertThat(missed.getChanges().get(missed.getChanges().size() - 1).getFields())
+                .containsEntry("status", TaskStatus.IN_PROGRESS.name());
+    }
+
+    @Test
+    void positionsTheFeedCannotAnswerRequireAReload() throws Exception {
+        String adminToken = adminToken();
+        Integer userId = userService.findByEmail(registerEmail(Role.USER)).orElseThrow().getId();
+        MockHttpServletResponse list = fetch("/api/task", adminToken);
+        String source = list.getHeader(ChangeFeedHeaders.SOURCE);
+        long seq = Long.parseLong(list.getHeader(ChangeFeedHeaders.SEQ));
+
+        assertThat(changes("/api/task/changes?source=other&since=" + seq, adminToken).isResyncRequired()).isTrue();
+        assertThat(changes("/api/task/changes?source=" + source + "&since=" + (seq + 1), adminToken).isResyncRequired())
+                .as("a sequence from the future").isTrue();
+
+        // More changes than the feed retains
+        for (int i = 0; i < 21; i++) {
+            taskService.createTask(newTask(), userId.longValue());
+        }
+        TaskChangeBatch dropped = changes("/api/task/changes?source=" + source + "&since=" + seq, adminToken);
+        assertThat(dropped.isResyncRequired()).isTrue();
+        assertThat(dropped.getChanges()).isEmpty();
+        assertThat(dropped.getToSeq()).isEqualTo(seq + 21);
+    }
+
+    private TaskChangeBatch lastBroadcast() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> message = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/task-changes"), message.capture());
+        return objectMapper.readValue(message.getValue().getPayload(), TaskChangeBatch.class);
+    }
+
+    private TaskChangeBatch changes(String url, String token) throws Exception {
+        return objectMapper.readValue(fetch(url, token).getContentAsByteArray(), TaskChangeBatch.class);
+    }
+
+    private MockHttpServletResponse fetch(String url, String token) throws Exception {
+        return mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+    }
+
+    // Only one admin may exist, so the tests share it
+    private String adminToken() {
+        if (adminEmail == null) {
+            adminEmail = shortEmail();
+            return register(adminEmail, Role.ADMIN);
+        }
+        return authenticationService.authenticate(new AuthenticationRequest(adminEmail, "secret123")).getToken();
+    }
+
+    private String registerEmail(Role role) {
+        String email = shortEmail();
+        register(email, role);
+        return email;
+    }
+
+    private String register(String email, Role role) {
+        return authenticationService.register(new RegisterRequest("Changes", email, "secret123"), role).getToken();
+    }
+
+    private static String shortEmail() {
+        return "c-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+    }
+
+    private static Task newTask() {
+        Task task = new Task();
+        task.setTitle("changes");
+        task.setDeadline(LocalDate.now().plusDays(1));
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
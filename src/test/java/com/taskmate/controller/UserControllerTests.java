@@ -0,0 +1,142 @@
+package com.taskmate.controller;
+
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.dto.RegisterRequest;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.service.TaskChangeFeed;
+import com.taskmate.service.TaskService;
+import com.taskmate.service.UserService;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-user pages, changes and statistics are always those of the authenticated user, whatever
+ * email is passed.
+ */
+@SpringBootTest(properties = "taskmate.db-name=user_controller_test")
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Test
+    void statsAreResolvedFromTheAuthenticatedUser() throws Exception {
+        String aliceEmail = shortEmail();
+        register(aliceEmail);
+        String bobToken = register(shortEmail());
+        Integer aliceId = userService.findByEmail(aliceEmail).orElseThrow().getId();
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(newTask(), aliceId.longValue());
+        }
+
+        mockMvc.perform(get("/api/user/aggregates").param("email", aliceEmail)
+                        .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0));
+        mockMvc.perform(get("/api/user/throughput").param("email", aliceEmail).param("last", "1")
+                        .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created[0]").value(0));
+
+        String aliceToken = authenticationService.authenticate(
+                new AuthenticationRequest(aliceEmail, "secret123")).getToken();
+        mockMvc.perform(get("/api/user/aggregates").header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3));
+        mockMvc.perform(get("/api/user/throughput").param("last", "1")
+                        .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created[0]").value(3));
+
+        mockMvc.perform(get("/api/user/aggregates")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void taskPageIsAlwaysTheAuthenticatedUsersOwn() throws Exception {
+        String aliceEmail = shortEmail();
+        register(aliceEmail);
+        String bobToken = register(shortEmail());
+        Integer aliceId = userService.findByEmail(aliceEmail).orElseThrow().getId();
+        taskService.createTask(newTask(), aliceId.longValue());
+
+        // Bob naming Alice gets his own (empty) page, not hers
+        mockMvc.perform(get("/api/user/tasks/page").param("email", aliceEmail)
+                        .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+
+        String aliceToken = authenticationService.authenticate(
+                new AuthenticationRequest(aliceEmail, "secret123")).getToken();
+        mockMvc.perform(get("/api/user/tasks/page").header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].assigneeId").value(aliceId));
+
+        mockMvc.perform(get("/api/user/tasks/page")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void changesAreAlwaysTheAuthenticatedUsersOwn() throws Exception {
+        String aliceEmail = shortEmail();
+        register(aliceEmail);
+        String bobToken = register(shortEmail());
+        Integer aliceId = userService.findByEmail(aliceEmail).orElseThrow().getId();
+        long since = taskChangeFeed.currentSeq();
+        Task alices = taskService.createTask(newTask(), aliceId.longValue());
+
+        mockMvc.perform(get("/api/user/changes").param("email", aliceEmail)
+                        .param("source", taskChangeFeed.getSource()).param("since", Long.toString(since))
+                        .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(0));
+
+        String aliceToken = authenticationService.authenticate(
+                new AuthenticationRequest(aliceEmail, "secret123")).getToken();
+        mockMvc.perform(get("/api/user/changes")
+                        .param("source", taskChangeFeed.getSource()).param("since", Long.toString(since))
+                        .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].taskId").value(alices.getId()));
+    }
+
+    private String register(String email) {
+        return authenticationService.register(new RegisterRequest("Stats", email, "secret123"), Role.USER).getToken();
+    }
+
+    private static String shortEmail() {
+        return "u-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+    }
+
+    private static Task newTask() {
+        Task task = new Task();
+        task.setTitle("stats");
+        task.setDeadline(LocalDate.now().plusDays(1));
+        return task;
+    }
+}
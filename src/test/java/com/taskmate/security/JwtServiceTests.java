@@ -0,0 +1,49 @@
+package com.taskmate.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full claims cache evicts its least recently used entries rather than refusing new tokens.
+ */
+class JwtServiceTests {
+
+    private static final String SECRET = "your_secret_key_should_be_atleast_256_bits_long_xyz123456789012345678901234567890";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 86_400_000L, 10, meterRegistry);
+
+    @Test
+    void fullCacheKeepsCachingNewTokensAndRecentlyUsedOnes() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(jwtService.generateToken("u" + i + "@gmail.com"));
+            jwtService.extractUsername(tokens.get(i));
+        }
+        Thread.sleep(5);
+        // The oldest entry, used again
+        jwtService.extractUsername(tokens.get(0));
+
+        for (int i = 10; i < 19; i++) {
+            tokens.add(jwtService.generateToken("u" + i + "@gmail.com"));
+            jwtService.extractUsername(tokens.get(i));
+            assertThat(jwtService.claimsCacheSize()).isLessThanOrEqualTo(10);
+        }
+
+        double hits = hits();
+        jwtService.extractUsername(tokens.get(18));
+        jwtService.extractUsername(tokens.get(0));
+        assertThat(hits()).isEqualTo(hits + 2);
+        jwtService.extractUsername(tokens.get(1));
+        assertThat(hits()).isEqualTo(hits + 2);
+    }
+
+    private double hits() {
+        return meterRegistry.get("taskmate.jwt.claims.cache").tag("result", "hit").counter().count();
+    }
+}
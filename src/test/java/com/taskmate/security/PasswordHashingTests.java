@@ -0,0 +1,87 @@
+package com.taskmate.security;
+
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PasswordHashingTests {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void legacyHashIsUpgradedOnSuccessfulLogin() {
+        String email = "legacy-" + UUID.randomUUID() + "@gmail.com";
+        userRepository.save(User.builder()
+                .name("Legacy")
+                .email(email)
+                .password(new BCryptPasswordEncoder(4).encode("pw"))
+                .role(Role.USER)
+                .build());
+
+        authenticationService.authenticate(new AuthenticationRequest(email, "pw"));
+
+        String stored = userRepository.findByEmail(email).orElseThrow().getPassword();
+        assertThat(stored).startsWith("{bcrypt}$2a$10$");
+        // Still logs in with the upgraded hash
+        authenticationService.authenticate(new AuthenticationRequest(email, "pw"));
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 5_000)) {
+            // One running, one queued
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (encoder.getQueueDepth() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(HashingPoolSaturatedException.class);
+
+            release.countDown();
+            assertThat(running.get()).isEqualTo("a");
+            assertThat(queued.get()).isEqualTo("b");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
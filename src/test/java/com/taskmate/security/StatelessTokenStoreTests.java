@@ -0,0 +1,113 @@
+package com.taskmate.security;
+
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.dto.RegisterRequest;
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In stateless mode a token carries the user's version at issue time. Revoking bumps the
+ * version and older tokens are rejected on the next request, even with the principal cached;
+ * logging in again issues a token that works.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=stateless_token_test",
+        "taskmate.auth.token-mode=stateless"
+})
+@AutoConfigureMockMvc
+class StatelessTokenStoreTests {
+
+    @Autowired
+    private TokenStore tokenStore;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void issuedTokenCarriesTheCurrentVersion() throws Exception {
+        assertThat(tokenStore).isInstanceOf(StatelessTokenStore.class);
+        String email = newEmail();
+        String token = register(email);
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        Integer version = jwtService.extractClaim(token, claims -> claims.get(StatelessTokenStore.VERSION_CLAIM, Integer.class));
+        assertThat(version).isEqualTo(user.getTokenVersion());
+        assertThat(tokenStore.isTokenActive(token, UserPrincipal.of(user))).isTrue();
+        expectStatus(email, token, 200);
+    }
+
+    @Test
+    void revokingRejectsOlderTokensWhileThePrincipalIsCached() throws Exception {
+        String email = newEmail();
+        String first = register(email);
+        // Puts the principal in the cache
+        expectStatus(email, first, 200);
+
+        tokenStore.revokeAllTokens(userRepository.findByEmail(email).orElseThrow());
+        expectStatus(email, first, 403);
+
+        String second = authenticationService.authenticate(new AuthenticationRequest(email, "secret123")).getToken();
+        expectStatus(email, second, 200);
+        expectStatus(email, first, 403);
+    }
+
+    @Test
+    void principalCachedBeforeTheBumpCommitsIsDroppedAfterCommit() throws Exception {
+        String email = newEmail();
+        String token = register(email);
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tokenStore.revokeAllTokens(user);
+            // Another request reads the committed, older version and caches it
+            CompletableFuture.runAsync(() -> userPrincipalCache.findByEmail(email)).join();
+        });
+
+        expectStatus(email, token, 403);
+    }
+
+    private String register(String email) {
+        return authenticationService.register(new RegisterRequest("Stateless", email, "secret123"), Role.USER)
+                .getToken();
+    }
+
+    private void expectStatus(String email, String token, int expected) throws Exception {
+        mockMvc.perform(get("/api/user/tasks").param("email", email).header("Authorization", "Bearer " + token))
+                .andExpect(status().is(expected));
+    }
+
+    private static String newEmail() {
+        return "s-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+    }
+}
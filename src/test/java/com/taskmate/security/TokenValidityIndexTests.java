@@ -0,0 +1,124 @@
+package com.taskmate.security;
+
+import com.taskmate.dto.AuthenticationRequest;
+import com.taskmate.dto.RegisterRequest;
+import com.taskmate.model.Role;
+import com.taskmate.model.Token;
+import com.taskmate.model.User;
+import com.taskmate.repository.TokenRepository;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.service.impl.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The in-memory index agrees with the token table: issued tokens are active for their own user
+ * only, revoking a user's tokens leaves everyone else's alone, and after a restart (empty index,
+ * every row revoked) only tokens from a new login work.
+ */
+@SpringBootTest(properties = "taskmate.db-name=token_validity_test")
+@AutoConfigureMockMvc
+class TokenValidityIndexTests {
+
+    @Autowired
+    private TokenValidityIndex tokenValidityIndex;
+
+    @Autowired
+    private TokenStore tokenStore;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void digestIsStableAndDoesNotContainTheToken() {
+        String token = "header.payload.signature";
+        assertThat(TokenDigest.of(token)).isEqualTo(TokenDigest.of(token));
+        assertThat(TokenDigest.of(token)).isNotEqualTo(TokenDigest.of(token + "x"));
+        assertThat(TokenDigest.of(token)).hasSize(43).doesNotContain("payload");
+    }
+
+    @Test
+    void issuedTokenIsActiveForItsUserUntilRevoked() {
+        User alice = newUser();
+        User bob = newUser();
+        String aliceFirst = tokenStore.issueToken(alice);
+        String aliceSecond = tokenStore.issueToken(alice);
+        String bobs = tokenStore.issueToken(bob);
+
+        assertThat(tokenStore.isTokenActive(aliceFirst, UserPrincipal.of(alice))).isTrue();
+        assertThat(tokenStore.isTokenActive(aliceSecond, UserPrincipal.of(alice))).isTrue();
+        assertThat(tokenStore.isTokenActive(aliceFirst, UserPrincipal.of(bob))).isFalse();
+
+        tokenStore.revokeAllTokens(alice);
+        assertThat(tokenStore.isTokenActive(aliceFirst, UserPrincipal.of(alice))).isFalse();
+        assertThat(tokenStore.isTokenActive(aliceSecond, UserPrincipal.of(alice))).isFalse();
+        assertThat(tokenRepository.findAllByUser(alice)).allMatch(Token::isRevoked);
+        assertThat(tokenStore.isTokenActive(bobs, UserPrincipal.of(bob))).isTrue();
+        assertThat(tokenRepository.findAllByUser(bob)).noneMatch(Token::isRevoked);
+    }
+
+    @Test
+    void coldIndexOnlyAcceptsTokensIssuedAfterTheRestart() throws Exception {
+        String email = "r-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        String before = authenticationService.register(new RegisterRequest("Restart", email, "secret123"), Role.USER)
+                .getToken();
+        assertThat(new TokenValidityIndex().isActive(before, userRepository.findByEmail(email).orElseThrow().getId()))
+                .isFalse();
+        mockMvc.perform(get("/api/user/tasks").param("email", email).header("Authorization", "Bearer " + before))
+                .andExpect(status().isOk());
+
+        // What startup does: every stored token is revoked and the index starts empty
+        authenticationService.clearAllTokens();
+        mockMvc.perform(get("/api/user/tasks").param("email", email).header("Authorization", "Bearer " + before))
+                .andExpect(status().isForbidden());
+        assertThat(tokenRepository.findAllByUser(userRepository.findByEmail(email).orElseThrow()))
+                .allMatch(Token::isRevoked);
+
+        String after = authenticationService.authenticate(new AuthenticationRequest(email, "secret123")).getToken();
+        mockMvc.perform(get("/api/user/tasks").param("email", email).header("Authorization", "Bearer " + after))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void longEmailsLogInAndOnlyTheDigestIsStored() throws Exception {
+        // The JWT carries the email; the old column held the raw token and overflowed from 54 characters
+        String email = "l-" + UUID.randomUUID() + "-" + "x".repeat(150) + "@gmail.com";
+        String registered = authenticationService.register(new RegisterRequest("Long", email, "secret123"), Role.USER)
+                .getToken();
+        String token = authenticationService.authenticate(new AuthenticationRequest(email, "secret123")).getToken();
+        assertThat(token.length()).isGreaterThan(255);
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+        assertThat(tokenRepository.findAllByUser(user)).extracting(Token::getToken)
+                .containsExactlyInAnyOrder(TokenDigest.of(registered), TokenDigest.of(token));
+        mockMvc.perform(get("/api/user/tasks").param("email", email).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Tokens")
+                .email("tokens-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+}
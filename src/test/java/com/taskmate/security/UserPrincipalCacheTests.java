@@ -0,0 +1,145 @@
+package com.taskmate.security;
+
+import com.taskmate.dto.UserProfileRequest;
+import com.taskmate.model.Role;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import com.taskmate.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cached principals expire after the TTL, are dropped when the profile or password changes and
+ * stay within the size bound, evicting the least recently used first. Hits and misses are
+ * counted, and only misses are timed.
+ */
+@SpringBootTest(properties = "taskmate.db-name=user_principal_cache_test")
+class UserPrincipalCacheTests {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void entriesExpireAfterTheTtl() throws Exception {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findByEmail(anyString())).thenAnswer(call -> Optional.of(user(1, call.getArgument(0))));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserPrincipalCache cache = new UserPrincipalCache(repository, 1, 10, meterRegistry);
+
+        cache.findByEmail("a@gmail.com");
+        cache.findByEmail("a@gmail.com");
+        verify(repository, times(1)).findByEmail("a@gmail.com");
+
+        Thread.sleep(1100);
+        cache.findByEmail("a@gmail.com");
+        verify(repository, times(2)).findByEmail("a@gmail.com");
+        // Only the two database loads are timed
+        assertThat(meterRegistry.get("taskmate.user.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("taskmate.user.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("taskmate.auth.user.lookup").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void staysWithinItsSizeAndKeepsRecentlyUsedEntries() throws Exception {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findByEmail(anyString())).thenAnswer(call -> {
+            String email = call.getArgument(0);
+            return Optional.of(user(Integer.parseInt(email.substring(1, email.indexOf('@'))), email));
+        });
+        UserPrincipalCache cache = new UserPrincipalCache(repository, 60, 10, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            cache.findByEmail("u" + i + "@gmail.com");
+        }
+        Thread.sleep(5);
+        // u0 is the oldest entry, but a hit makes it the most recently used one
+        cache.findByEmail("u0@gmail.com");
+        // Nine more users push out the nine entries that were not touched again
+        for (int i = 10; i < 19; i++) {
+            cache.findByEmail("u" + i + "@gmail.com");
+            assertThat(cache.size()).isLessThanOrEqualTo(10);
+        }
+
+        cache.findByEmail("u0@gmail.com");
+        verify(repository, times(1)).findByEmail("u0@gmail.com");
+        cache.findByEmail("u1@gmail.com");
+        verify(repository, times(2)).findByEmail("u1@gmail.com");
+    }
+
+    @Test
+    void profileChangeDropsThePrincipal() {
+        User user = newUser();
+        assertThat(userPrincipalCache.findByEmail(user.getEmail())).isPresent();
+
+        String newEmail = "p-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        userService.updateProfile(user.getEmail(), UserProfileRequest.builder().email(newEmail).build());
+
+        assertThat(userPrincipalCache.findByEmail(user.getEmail())).isEmpty();
+        assertThat(userPrincipalCache.findByEmail(newEmail)).get()
+                .extracting(UserPrincipal::id).isEqualTo(user.getId());
+    }
+
+    @Test
+    void passwordChangeDropsThePrincipal() {
+        User user = newUser();
+        String before = userPrincipalCache.findByEmail(user.getEmail()).orElseThrow().password();
+
+        userService.updateProfile(user.getEmail(), UserProfileRequest.builder()
+                .currentPassword("secret123")
+                .newPassword("changed123")
+                .build());
+        String afterProfile = userPrincipalCache.findByEmail(user.getEmail()).orElseThrow().password();
+        assertThat(afterProfile).isNotEqualTo(before);
+        assertThat(passwordEncoder.matches("changed123", afterProfile)).isTrue();
+
+        UserPrincipal upgraded = (UserPrincipal) userDetailsService.updatePassword(
+                userPrincipalCache.findByEmail(user.getEmail()).orElseThrow(), passwordEncoder.encode("rehashed123"));
+        assertThat(userPrincipalCache.findByEmail(user.getEmail()).orElseThrow().password())
+                .isEqualTo(upgraded.password())
+                .isNotEqualTo(afterProfile);
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Cached")
+                .email("c-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com")
+                .password(passwordEncoder.encode("secret123"))
+                .role(Role.USER)
+                .build());
+    }
+
+    private static User user(int id, String email) {
+        return User.builder()
+                .id(id)
+                .name("Cached")
+                .email(email)
+                .password("x")
+                .role(Role.USER)
+                .build();
+    }
+}
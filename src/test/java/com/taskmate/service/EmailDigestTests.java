@@ -0,0 +1,146 @@
+package com.taskmate.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.taskmate.model.EmailOutbox;
+import com.taskmate.model.EmailOutboxStatus;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.User;
+import com.taskmate.repository.EmailOutboxRepository;
+import com.taskmate.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With digest mode on, a burst of assignments produces one summary email per recipient, no run
+ * sends more than {@code batch-size} rows, and rows in a retry backoff wait for it to pass.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=email_digest_test",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=taskmate@localhost",
+        "spring.mail.password=secret",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "taskmate.mail.outbox.poll-interval-ms=100",
+        "taskmate.mail.outbox.rate-per-second=0",
+        "taskmate.mail.outbox.batch-size=20",
+        "taskmate.mail.digest.enabled=true",
+        "taskmate.mail.digest.window-ms=1000"
+})
+class EmailDigestTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("taskmate@localhost", "secret"))
+            .withPerMethodLifecycle(true);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void assignmentsWithinTheWindowAreSentAsOneDigestPerRecipient() throws Exception {
+        User busy = newUser();
+        User other = newUser();
+        for (int i = 0; i < 12; i++) {
+            taskService.createTask(newTask("digest " + i), busy.getId().longValue());
+        }
+        taskService.createTask(newTask("only one"), other.getId().longValue());
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 2)).isTrue();
+        // Nothing else should follow the two summaries
+        Thread.sleep(1500);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        Map<String, MimeMessage> byRecipient = new HashMap<>();
+        for (MimeMessage message : received) {
+            byRecipient.put(GreenMailUtil.getAddressList(message.getAllRecipients()), message);
+        }
+
+        MimeMessage digest = byRecipient.get(busy.getEmail());
+        assertThat(digest.getSubject()).isEqualTo("TaskMate: 12 new tasks assigned to you");
+        String body = GreenMailUtil.getBody(digest);
+        for (int i = 0; i < 12; i++) {
+            assertThat(body).contains("\"digest " + i + "\"");
+        }
+        assertThat(byRecipient.get(other.getEmail()).getSubject()).isEqualTo("TaskMate: New task assigned to you");
+    }
+
+    @Test
+    void digestStaysWithinTheBatchSize() throws Exception {
+        User busy = newUser();
+        for (int i = 0; i < 25; i++) {
+            taskService.createTask(newTask("batch " + i), busy.getId().longValue());
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 2)).isTrue();
+        Thread.sleep(1500);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("TaskMate: 20 new tasks assigned to you");
+        assertThat(received[1].getSubject()).isEqualTo("TaskMate: 5 new tasks assigned to you");
+    }
+
+    @Test
+    void rowWaitingOutABackoffDoesNotJoinTheDigest() throws Exception {
+        User user = newUser();
+        EmailOutbox backingOff = emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(user.getEmail())
+                .recipientName(user.getName())
+                .taskTitle("failed earlier")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(1)
+                .nextAttemptAt(Instant.now().plus(Duration.ofHours(1)))
+                .createdAt(Instant.now())
+                .build());
+        taskService.createTask(newTask("fresh"), user.getId().longValue());
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        Thread.sleep(1500);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("TaskMate: New task assigned to you");
+        assertThat(emailOutboxRepository.findById(backingOff.getId())).isPresent();
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Digest")
+                .email("digest-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("digest");
+        task.setDeadline(LocalDate.now().plusDays(3));
+        task.setPriority(TaskPriority.MEDIUM);
+        return task;
+    }
+}
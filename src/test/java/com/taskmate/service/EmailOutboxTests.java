@@ -0,0 +1,125 @@
+package com.taskmate.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.taskmate.model.EmailOutbox;
+import com.taskmate.model.EmailOutboxStatus;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.User;
+import com.taskmate.repository.EmailOutboxRepository;
+import com.taskmate.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Task assignment emails go through the outbox to a local GreenMail SMTP server.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=email_outbox_test",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=taskmate@localhost",
+        "spring.mail.password=secret",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "taskmate.mail.outbox.poll-interval-ms=100",
+        "taskmate.mail.outbox.rate-per-second=0",
+        "taskmate.mail.outbox.backoff-initial-ms=200"
+})
+class EmailOutboxTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("taskmate@localhost", "secret"))
+            .withPerMethodLifecycle(true);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void burstOfAssignmentsIsDeliveredAndDrained() throws Exception {
+        User user = newUser();
+        for (int i = 0; i < 30; i++) {
+            taskService.createTask(newTask("burst " + i), user.getId().longValue());
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 30)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(30);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo(user.getEmail());
+        assertThat(waitUntil(() -> emailOutboxRepository.count() == 0)).isTrue();
+    }
+
+    @Test
+    void failedSendIsRetriedWithBackoff() {
+        greenMail.stop();
+        User user = newUser();
+        taskService.createTask(newTask("retry"), user.getId().longValue());
+
+        assertThat(waitUntil(() -> emailOutboxRepository.findAll().stream().anyMatch(e -> e.getAttempts() > 0)))
+                .isTrue();
+        List<EmailOutbox> pending = emailOutboxRepository.findAll();
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(pending.get(0).getLastError()).isNotBlank();
+        assertThat(pending.get(0).getNextAttemptAt()).isAfter(pending.get(0).getCreatedAt());
+
+        greenMail.start();
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        assertThat(waitUntil(() -> emailOutboxRepository.count() == 0)).isTrue();
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) {
+        Instant deadline = Instant.now().plusSeconds(10);
+        while (Instant.now().isBefore(deadline)) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Outbox")
+                .email("outbox-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("outbox");
+        task.setDeadline(LocalDate.now().plusDays(3));
+        task.setPriority(TaskPriority.MEDIUM);
+        return task;
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskAggregates;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.TaskRepository;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Counters follow committed task changes and agree with a recount from the database, including
+ * changes committed while the recount runs, and the recount drops deadlines without open tasks.
+ */
+@SpringBootTest(properties = "taskmate.db-name=task_aggregates_test")
+class TaskAggregateCountersTests {
+
+    @Autowired
+    private TaskAggregateCounters taskAggregateCounters;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private TaskRepository taskRepository;
+
+    @Test
+    void countsFollowCreatesAndStatusChanges() {
+        TaskAggregates before = taskAggregateCounters.global();
+        User alice = newUser();
+        User bob = newUser();
+
+        Task overdue = taskService.createTask(newTask(TaskPriority.HIGH, LocalDate.now().minusDays(2)), alice.getId().longValue());
+        taskService.createTask(newTask(TaskPriority.HIGH, LocalDate.now().plusDays(2)), alice.getId().longValue());
+        taskService.createTask(newTask(null, LocalDate.now().minusDays(1)), bob.getId().longValue());
+        taskService.updateTaskStatus(overdue.getId(), "COMPLETED");
+
+        TaskAggregates forAlice = taskAggregateCounters.forAssignee(alice.getId());
+        assertThat(forAlice.getTotal()).isEqualTo(2);
+        assertThat(forAlice.getOverdue()).isZero();
+        assertThat(forAlice.getByStatus()).containsEntry(TaskStatus.PENDING, 1L).containsEntry(TaskStatus.COMPLETED, 1L);
+        assertThat(forAlice.getByStatusAndPriority().get(TaskStatus.COMPLETED)).containsEntry("HIGH", 1L);
+
+        TaskAggregates forBob = taskAggregateCounters.forAssignee(bob.getId());
+        assertThat(forBob.getOverdue()).isEqualTo(1);
+        assertThat(forBob.getByPriority()).containsEntry(TaskAggregates.NO_PRIORITY, 1L);
+
+        TaskAggregates after = taskAggregateCounters.global();
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(3);
+        assertThat(after.getOverdue() - before.getOverdue()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileRestoresCountsFromTheDatabase() {
+        User user = newUser();
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(newTask(TaskPriority.LOW, LocalDate.now().minusDays(i)), user.getId().longValue());
+        }
+        TaskAggregates counted = taskAggregateCounters.global();
+
+        taskAggregateCounters.clear();
+        assertThat(taskAggregateCounters.global().getTotal()).isZero();
+
+        taskAggregateCounters.reconcile();
+        TaskAggregates recounted = taskAggregateCounters.global();
+        assertThat(recounted.getTotal()).isEqualTo(counted.getTotal());
+        assertThat(recounted.getOverdue()).isEqualTo(counted.getOverdue());
+        assertThat(recounted.getByStatusAndPriority()).isEqualTo(counted.getByStatusAndPriority());
+        assertThat(taskAggregateCounters.forAssignee(user.getId()).getOverdue()).isEqualTo(4);
+    }
+
+    @Test
+    void changeCommittedDuringReconcileIsCountedOnce() {
+        User user = newUser();
+        Task beforeSnapshot = taskService.createTask(newTask(TaskPriority.HIGH, LocalDate.now().minusDays(1)), user.getId().longValue());
+        Task afterSnapshot = taskService.createTask(newTask(TaskPriority.LOW, LocalDate.now().minusDays(1)), user.getId().longValue());
+
+        // One change lands before the reconcile reads the tasks table and one after; both are
+        // committed while the reconcile is running, on another thread like any request would be
+        // The repository is a JDK proxy: the spy's default answer delegates to it, there is no real method to call
+        Answer<?> realRepository = mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> taskService.updateTaskStatus(beforeSnapshot.getId(), "COMPLETED")).join();
+            Object rows = realRepository.answer(invocation);
+            CompletableFuture.runAsync(() -> taskService.updateTaskStatus(afterSnapshot.getId(), "COMPLETED")).join();
+            return rows;
+        }).when(taskRepository).countByAssigneeStatusAndPriority();
+        try {
+            taskAggregateCounters.reconcile();
+        } finally {
+            reset(taskRepository);
+        }
+
+        TaskAggregates counted = taskAggregateCounters.forAssignee(user.getId());
+        assertThat(counted.getTotal()).isEqualTo(2);
+        assertThat(counted.getOverdue()).isZero();
+        assertThat(counted.getByStatus()).containsEntry(TaskStatus.PENDING, 0L).containsEntry(TaskStatus.COMPLETED, 2L);
+
+        TaskAggregates global = taskAggregateCounters.global();
+        taskAggregateCounters.reconcile();
+        assertThat(taskAggregateCounters.global()).usingRecursiveComparison().isEqualTo(global);
+    }
+
+    @Test
+    void commitsAreCountedWhileReconcileReadsChangedTasks() {
+        User user = newUser();
+        Task first = taskService.createTask(newTask(TaskPriority.HIGH, LocalDate.now().plusDays(3)), user.getId().longValue());
+        Task second = taskService.createTask(newTask(TaskPriority.HIGH, LocalDate.now().plusDays(3)), user.getId().longValue());
+
+        Answer<?> realRepository = mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean secondCommitted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> taskService.updateTaskStatus(first.getId(), "COMPLETED")).join();
+            return realRepository.answer(invocation);
+        }).when(taskRepository).countByAssigneeStatusAndPriority();
+        doAnswer(invocation -> {
+            // Would wait forever if the counters' write lock were held around this query
+            if (secondCommitted.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> taskService.updateTaskStatus(second.getId(), "COMPLETED"))
+                        .get(10, TimeUnit.SECONDS);
+            }
+            return realRepository.answer(invocation);
+        }).when(taskRepository).findViewsByIdIn(any());
+        try {
+            taskAggregateCounters.reconcile();
+        } finally {
+            reset(taskRepository);
+        }
+
+        assertThat(taskAggregateCounters.forAssignee(user.getId()).getByStatus())
+                .containsEntry(TaskStatus.PENDING, 0L)
+                .containsEntry(TaskStatus.COMPLETED, 2L);
+        TaskAggregates global = taskAggregateCounters.global();
+        taskAggregateCounters.reconcile();
+        assertThat(taskAggregateCounters.global()).usingRecursiveComparison().isEqualTo(global);
+    }
+
+    @Test
+    void reconcileDropsDeadlinesWithoutOpenTasks() {
+        taskAggregateCounters.reconcile();
+        int tracked = taskAggregateCounters.trackedDeadlines();
+        User user = newUser();
+        for (int i = 0; i < 3; i++) {
+            Task task = taskService.createTask(newTask(null, LocalDate.now().plusYears(10).plusDays(i)), user.getId().longValue());
+            taskService.updateTaskStatus(task.getId(), "COMPLETED");
+        }
+        assertThat(taskAggregateCounters.trackedDeadlines()).isEqualTo(tracked + 3);
+
+        taskAggregateCounters.reconcile();
+        assertThat(taskAggregateCounters.trackedDeadlines()).isEqualTo(tracked);
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Counted")
+                .email("counted-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Task newTask(TaskPriority priority, LocalDate deadline) {
+        Task task = new Task();
+        task.setTitle("counted");
+        task.setDeadline(deadline);
+        task.setPriority(priority);
+        return task;
+    }
+}
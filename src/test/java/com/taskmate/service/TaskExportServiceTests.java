@@ -0,0 +1,92 @@
+package com.taskmate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports write one NDJSON object or CSV row per task. CSV cells are quoted when they contain
+ * separators, quotes or line breaks, and cells a spreadsheet would run as a formula are
+ * prefixed with a quote.
+ */
+@SpringBootTest(properties = "taskmate.db-name=task_export_test")
+class TaskExportServiceTests {
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesEveryTaskAsNdjsonAndCsv() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Smith, Jo")
+                .email("export@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        Task plain = taskService.createTask(newTask("Plain", "nothing special", null), user.getId().longValue());
+        Task quoted = taskService.createTask(newTask("Say \"hi\"", "line one\nline two", "a, b"), user.getId().longValue());
+        Task formulas = taskService.createTask(newTask("=HYPERLINK(\"http://x\")", "-2+3", "@SUM(A1)"), user.getId().longValue());
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        taskExportService.writeNdjson(ndjson);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .containsExactly(plain.getId(), quoted.getId(), formulas.getId());
+        // Written as is: only the CSV is meant for spreadsheets
+        assertThat(rows.get(2).get("title").asText()).isEqualTo("=HYPERLINK(\"http://x\")");
+        assertThat(rows.get(1).get("description").asText()).isEqualTo("line one\nline two");
+        assertThat(rows.get(0).get("assigneeName").asText()).isEqualTo("Smith, Jo");
+
+        StringWriter csv = new StringWriter();
+        taskExportService.writeCsv(csv);
+        String deadline = LocalDate.now().plusDays(1).toString();
+        assertThat(csv.toString()).isEqualTo(
+                "id,title,description,deadline,status,priority,comments,assigneeId,assigneeName\n"
+                        + plain.getId() + ",Plain,nothing special," + deadline + ",PENDING,MEDIUM,,"
+                        + user.getId() + ",\"Smith, Jo\"\n"
+                        + quoted.getId() + ",\"Say \"\"hi\"\"\",\"line one\nline two\"," + deadline + ",PENDING,MEDIUM,\"a, b\","
+                        + user.getId() + ",\"Smith, Jo\"\n"
+                        + formulas.getId() + ",\"'=HYPERLINK(\"\"http://x\"\")\",'-2+3," + deadline + ",PENDING,MEDIUM,'@SUM(A1),"
+                        + user.getId() + ",\"Smith, Jo\"\n");
+    }
+
+    private static Task newTask(String title, String description, String comments) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setComments(comments);
+        task.setDeadline(LocalDate.now().plusDays(1));
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        return task;
+    }
+}
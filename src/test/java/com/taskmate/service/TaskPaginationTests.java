@@ -0,0 +1,143 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskPage;
+import com.taskmate.dto.TaskPageRequest;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pages walk every matching task exactly once, in order, for each sort and filter.
+ */
+@SpringBootTest(properties = "taskmate.db-name=task_pagination_test")
+class TaskPaginationTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pagesByIdFollowOnWithoutGapsOrRepeats() {
+        User user = newUser();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(create(user, TaskPriority.MEDIUM, TODAY.plusDays(i)).getId());
+        }
+
+        TaskPage first = taskService.getTaskPage(request(user).size(3).build());
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextAfterDeadline()).isNull();
+
+        List<TaskView> walked = walk(request(user).size(3));
+        assertThat(walked).extracting(TaskView::getId).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void pagesByDeadlineBreakTiesById() {
+        User user = newUser();
+        for (int i = 0; i < 5; i++) {
+            create(user, TaskPriority.LOW, TODAY);
+        }
+        create(user, TaskPriority.LOW, TODAY.minusDays(1));
+        create(user, TaskPriority.LOW, TODAY.minusDays(1));
+        create(user, TaskPriority.LOW, null);
+
+        // Page boundaries fall inside the run of equal deadlines
+        List<TaskView> walked = walk(request(user).sort("deadline").size(2));
+        assertThat(walked).hasSize(7);
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(TaskView::getDeadline).thenComparing(TaskView::getId));
+        assertThat(walked).extracting(TaskView::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void eachFilterOnlyReturnsMatchingTasks() {
+        User user = newUser();
+        Task high = create(user, TaskPriority.HIGH, TODAY.minusDays(3));
+        Task completed = create(user, TaskPriority.LOW, TODAY);
+        taskService.updateTaskStatus(completed.getId(), "COMPLETED");
+        Task later = create(user, TaskPriority.LOW, TODAY.plusDays(5));
+        create(newUser(), TaskPriority.HIGH, TODAY);
+
+        assertThat(walk(request(user).size(1))).extracting(TaskView::getId)
+                .containsExactly(high.getId(), completed.getId(), later.getId());
+        assertThat(walk(request(user).priority(TaskPriority.HIGH).size(1))).extracting(TaskView::getId)
+                .containsExactly(high.getId());
+        assertThat(walk(request(user).status(TaskStatus.COMPLETED).size(1))).extracting(TaskView::getId)
+                .containsExactly(completed.getId());
+        assertThat(walk(request(user).deadlineFrom(TODAY).size(1))).extracting(TaskView::getId)
+                .containsExactly(completed.getId(), later.getId());
+        assertThat(walk(request(user).deadlineTo(TODAY).sort("deadline").size(1))).extracting(TaskView::getId)
+                .containsExactly(high.getId(), completed.getId());
+        assertThat(walk(request(user).status(TaskStatus.PENDING).priority(TaskPriority.LOW).size(1)))
+                .extracting(TaskView::getId)
+                .containsExactly(later.getId());
+    }
+
+    @Test
+    void halfSpecifiedCursorIsRejected() {
+        assertThatThrownBy(() -> taskService.getTaskPage(TaskPageRequest.builder()
+                .sort("deadline").afterDeadline(TODAY).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.getTaskPage(TaskPageRequest.builder()
+                .sort("deadline").afterId(1L).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.getTaskPage(TaskPageRequest.builder()
+                .afterId(1L).afterDeadline(TODAY).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<TaskView> walk(TaskPageRequest.TaskPageRequestBuilder request) {
+        List<TaskView> walked = new ArrayList<>();
+        TaskPage page = taskService.getTaskPage(request.build());
+        walked.addAll(page.getItems());
+        while (page.isHasMore()) {
+            page = taskService.getTaskPage(request
+                    .afterId(page.getNextAfterId())
+                    .afterDeadline(page.getNextAfterDeadline())
+                    .build());
+            walked.addAll(page.getItems());
+        }
+        return walked;
+    }
+
+    private static TaskPageRequest.TaskPageRequestBuilder request(User user) {
+        return TaskPageRequest.builder().assigneeId(user.getId());
+    }
+
+    private Task create(User user, TaskPriority priority, LocalDate deadline) {
+        Task task = new Task();
+        task.setTitle("page");
+        task.setPriority(priority);
+        task.setDeadline(deadline);
+        return taskService.createTask(task, user.getId().longValue());
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Paged")
+                .email("paged-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.BulkTaskItem;
+import com.taskmate.dto.TaskStatusUpdate;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements issued by the task service paths, so an N+1
+ * (e.g. lazy assignees loaded one by one) fails the build instead of shipping.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskQueryCountTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createTaskLooksUpAssigneeAndInsertsOnce() {
+        User user = newUser();
+
+        statistics.clear();
+        taskService.createTask(newTask("one"), user.getId().longValue());
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        // User lookup and insert, plus a sequence call once every 50 task ids
+        assertThat(statistics.getPrepareStatementCount()).isBetween(2L, 3L);
+    }
+
+    @Test
+    void bulkCreateAndStatusUpdateAreBatched() {
+        List<Integer> assignees = List.of(newUser().getId(), newUser().getId(), newUser().getId());
+        List<BulkTaskItem> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(BulkTaskItem.builder()
+                    .title("bulk " + i)
+                    .deadline(LocalDate.now().plusDays(7))
+                    .priority(TaskPriority.LOW)
+                    .assigneeId(assignees.get(i % assignees.size()))
+                    .build());
+        }
+
+        statistics.clear();
+        List<Task> created = taskService.createTasks(items);
+        assertThat(created).hasSize(200);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+        // One user lookup, a sequence call per 50 ids and one reused, batched insert statement
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 5 + 1);
+
+        List<TaskStatusUpdate> updates = created.stream()
+                .map(task -> new TaskStatusUpdate(task.getId(), TaskStatus.COMPLETED))
+                .toList();
+        statistics.clear();
+        assertThat(taskService.updateTaskStatuses(updates)).hasSize(200);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(200);
+        // One fetch-join select and one batched update statement
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listingTasksIsOneStatementRegardlessOfAssignees() {
+        for (int i = 0; i < 5; i++) {
+            User user = newUser();
+            taskService.createTask(newTask("task " + i), user.getId().longValue());
+        }
+        User owner = newUser();
+        taskService.createTask(newTask("mine"), owner.getId().longValue());
+        taskService.createTask(newTask("mine too"), owner.getId().longValue());
+
+        statistics.clear();
+        assertThat(taskService.getAllTasks()).hasSizeGreaterThanOrEqualTo(7);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(taskService.getTasksByUser(owner)).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Query Count")
+                .email("qc-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private Task newTask(String title) {
+        return Task.builder()
+                .title(title)
+                .description("description")
+                .deadline(LocalDate.now().plusDays(7))
+                .priority(TaskPriority.MEDIUM)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskSearchResult;
+import com.taskmate.dto.TaskView;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskPriority;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Matching, ranking and facets of the search index, and keeping it in step with the database.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=task_search_test",
+        "taskmate.search.rebuild-threads=2",
+        "taskmate.search.rebuild-page-size=7"
+})
+class TaskSearchIndexTests {
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void matchesAllTermsWithPrefixesRankingTitleHitsFirst() {
+        TaskSearchIndex index = new TaskSearchIndex(null, false, 1, 100);
+        index.index(view(1, "Quarterly report", "numbers for finance", TaskStatus.PENDING, TaskPriority.HIGH));
+        index.index(view(2, "Team lunch", "book a table; the report can wait", TaskStatus.PENDING, TaskPriority.LOW));
+        index.index(view(3, "Reporting pipeline", "fix the nightly report job", TaskStatus.COMPLETED, TaskPriority.HIGH));
+        index.index(view(4, "Unrelated", "nothing to see", TaskStatus.PENDING, TaskPriority.HIGH));
+
+        TaskSearchResult exact = index.search("report", null, null, 10);
+        assertThat(exact.getItems()).extracting(TaskView::getId).containsExactly(1L, 3L, 2L);
+
+        TaskSearchResult prefix = index.search("REPORT*", null, null, 10);
+        assertThat(prefix.getTotal()).isEqualTo(3);
+        assertThat(prefix.getItems().get(0).getId()).isEqualTo(3L);
+
+        assertThat(index.search("report finance", null, null, 10).getItems())
+                .extracting(TaskView::getId).containsExactly(1L);
+        assertThat(index.search("report missing", null, null, 10).getTotal()).isZero();
+        assertThat(index.search("report", null, null, 1).getItems()).hasSize(1);
+        assertThatThrownBy(() -> index.search("  ;; ", null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void facetsCountMatchesForTheOtherFilter() {
+        TaskSearchIndex index = new TaskSearchIndex(null, false, 1, 100);
+        index.index(view(1, "deploy api", null, TaskStatus.PENDING, TaskPriority.HIGH));
+        index.index(view(2, "deploy web", null, TaskStatus.COMPLETED, TaskPriority.HIGH));
+        index.index(view(3, "deploy docs", null, TaskStatus.PENDING, TaskPriority.LOW));
+
+        TaskSearchResult result = index.search("deploy", TaskStatus.PENDING, TaskPriority.HIGH, 10);
+        assertThat(result.getItems()).extracting(TaskView::getId).containsExactly(1L);
+        assertThat(result.getStatusCounts()).containsEntry(TaskStatus.PENDING, 1).containsEntry(TaskStatus.COMPLETED, 1);
+        assertThat(result.getPriorityCounts()).containsEntry(TaskPriority.HIGH, 1).containsEntry(TaskPriority.LOW, 1);
+
+        // Re-indexing replaces the old version: new status, old terms gone
+        index.index(view(2, "ship web", null, TaskStatus.PENDING, TaskPriority.HIGH));
+        assertThat(index.search("deploy", TaskStatus.PENDING, null, 10).getTotal()).isEqualTo(2);
+        assertThat(index.search("ship", TaskStatus.PENDING, null, 10).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void committedChangesAreSearchableAndRebuildRestoresTheIndex() {
+        User user = userRepository.save(User.builder()
+                .name("Search")
+                .email("search-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        String word = "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        Long firstId = null;
+        for (int i = 0; i < 20; i++) {
+            Task task = new Task();
+            task.setTitle(word + " task " + i);
+            task.setDeadline(LocalDate.now().plusDays(1));
+            task.setPriority(TaskPriority.MEDIUM);
+            Long id = taskService.createTask(task, user.getId().longValue()).getId();
+            firstId = firstId == null ? id : firstId;
+        }
+        taskService.updateTaskStatus(firstId, "COMPLETED");
+
+        assertThat(taskSearchIndex.search(word, null, null, 100).getTotal()).isEqualTo(20);
+        assertThat(taskSearchIndex.search(word, TaskStatus.COMPLETED, null, 100).getItems())
+                .extracting(TaskView::getId).containsExactly(firstId);
+
+        taskSearchIndex.clear();
+        assertThat(taskSearchIndex.search(word, null, null, 100).getTotal()).isZero();
+
+        assertThat(taskSearchIndex.rebuild()).isGreaterThanOrEqualTo(20);
+        assertThat(taskSearchIndex.search(word.substring(0, 4) + "*", null, null, 100).getTotal()).isEqualTo(20);
+        assertThat(taskSearchIndex.search(word, TaskStatus.COMPLETED, null, 100).getTotal()).isEqualTo(1);
+    }
+
+    private static TaskView view(long id, String title, String description, TaskStatus status, TaskPriority priority) {
+        return new TaskView(id, title, description, LocalDate.now(), status, priority, null, 1, "Someone");
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskmate.service;
+
+import com.taskmate.dto.TaskThroughput;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.ThroughputResolution;
+import com.taskmate.model.ThroughputSeries;
+import com.taskmate.model.User;
+import com.taskmate.repository.TaskRepository;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rollups count committed creates and completions, keep each ring to its window and survive
+ * a persist and restore.
+ */
+@SpringBootTest(properties = "taskmate.db-name=task_throughput_test")
+class TaskThroughputRollupsTests {
+
+    @Autowired
+    private TaskThroughputRollups taskThroughputRollups;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void countsCreatesAndCompletionsPerBucket() {
+        User user = newUser();
+        Task first = taskService.createTask(newTask(), user.getId().longValue());
+        taskService.createTask(newTask(), user.getId().longValue());
+        taskService.updateTaskStatus(first.getId(), "COMPLETED");
+        // Completing an already completed task is not another completion
+        taskService.updateTaskStatus(first.getId(), "COMPLETED");
+
+        Task stored = taskRepository.findById(first.getId()).orElseThrow();
+        assertThat(stored.getCreatedAt()).isNotNull();
+        assertThat(stored.getCompletedAt()).isNotNull();
+        assertThat(stored.getUpdatedAt()).isAfterOrEqualTo(stored.getCreatedAt());
+
+        TaskThroughput days = taskThroughputRollups.range(user.getId(), ThroughputResolution.DAY, 90);
+        assertThat(days.getCreated()).hasSize(90);
+        assertThat(days.getCreated()[89]).isEqualTo(2);
+        assertThat(days.getCompleted()[89]).isEqualTo(1);
+        assertThat(days.getFrom().getEpochSecond() % 86400).isZero();
+
+        TaskThroughput minutes = taskThroughputRollups.range(user.getId(), ThroughputResolution.MINUTE, 5);
+        long created = 0;
+        for (long count : minutes.getCreated()) {
+            created += count;
+        }
+        assertThat(created).isEqualTo(2);
+
+        taskService.updateTaskStatus(first.getId(), "PENDING");
+        assertThat(taskRepository.findById(first.getId()).orElseThrow().getCompletedAt()).isNull();
+
+        assertThatThrownBy(() -> taskThroughputRollups.range(null, ThroughputResolution.DAY, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void restoresPersistedBuckets() {
+        User user = newUser();
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(newTask(), user.getId().longValue());
+        }
+        long[] counted = taskThroughputRollups.range(null, ThroughputResolution.HOUR, 24).getCreated();
+
+        taskThroughputRollups.persist();
+        taskThroughputRollups.clear();
+        assertThat(taskThroughputRollups.range(user.getId(), ThroughputResolution.HOUR, 24).getCreated()[23]).isZero();
+
+        taskThroughputRollups.restore();
+        assertThat(taskThroughputRollups.range(null, ThroughputResolution.HOUR, 24).getCreated()).isEqualTo(counted);
+        assertThat(taskThroughputRollups.range(user.getId(), ThroughputResolution.DAY, 1).getCreated()[0]).isEqualTo(3);
+
+        // A second persist only rewrites buckets that changed since
+        taskService.createTask(newTask(), user.getId().longValue());
+        taskThroughputRollups.persist();
+        taskThroughputRollups.clear();
+        taskThroughputRollups.restore();
+        assertThat(taskThroughputRollups.range(user.getId(), ThroughputResolution.DAY, 1).getCreated()[0]).isEqualTo(4);
+    }
+
+    @Test
+    void assigneeRingsDropBucketsThatFallOutOfTheirWindow() {
+        int assigneeId = newUser().getId();
+        Instant now = Instant.now();
+        taskThroughputRollups.record(ThroughputSeries.CREATED, assigneeId, now.minus(Duration.ofDays(2)));
+        taskThroughputRollups.record(ThroughputSeries.CREATED, assigneeId, now);
+        // Older than the newest minute bucket by more than the minute ring holds
+        taskThroughputRollups.record(ThroughputSeries.CREATED, assigneeId, now.minus(Duration.ofDays(3)));
+
+        assertThat(LongStream.of(taskThroughputRollups.range(assigneeId, ThroughputResolution.MINUTE, 1440).getCreated()).sum())
+                .isEqualTo(1);
+        long[] days = taskThroughputRollups.range(assigneeId, ThroughputResolution.DAY, 4).getCreated();
+        assertThat(days).containsExactly(1, 1, 0, 1);
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Throughput")
+                .email("throughput-" + UUID.randomUUID() + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Task newTask() {
+        Task task = new Task();
+        task.setTitle("throughput");
+        task.setDeadline(LocalDate.now().plusDays(1));
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmate.service;
+
+import com.taskmate.model.Role;
+import com.taskmate.model.Token;
+import com.taskmate.model.User;
+import com.taskmate.repository.TokenRepository;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A purge deletes revoked and expired tokens, in chunks of the configured size, and leaves
+ * live tokens alone. The scheduled run is pushed out of the way so the test drives it.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=token_purge_test",
+        "taskmate.token-purge.chunk-size=3",
+        "taskmate.token-purge.initial-delay-ms=3600000"
+})
+class TokenPurgeServiceTests {
+
+    @MockitoSpyBean
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private TokenPurgeService tokenPurgeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void deletesOnlyDeadTokensChunkByChunk() {
+        // Whatever startup revoked
+        tokenPurgeService.purgeDeadTokens();
+        User user = userRepository.save(User.builder()
+                .name("Purge")
+                .email("purge-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+
+        List<Long> dead = new ArrayList<>();
+        List<Long> live = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            dead.add(save(user, i % 3 != 1, i % 3 != 2).getId());
+        }
+        for (int i = 0; i < 4; i++) {
+            live.add(save(user, false, false).getId());
+        }
+        clearInvocations(tokenRepository);
+
+        tokenPurgeService.purgeDeadTokens();
+
+        assertThat(tokenRepository.findAllByUser(user)).extracting(Token::getId).containsExactlyInAnyOrderElementsOf(live);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<Long>> chunks = ArgumentCaptor.forClass(Iterable.class);
+        verify(tokenRepository, times(3)).deleteAllByIdInBatch(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(chunk -> (List<Long>) chunk)
+                .containsExactly(dead.subList(0, 3), dead.subList(3, 6), dead.subList(6, 7));
+        verify(tokenRepository, times(3)).findDeadTokenIds(any());
+    }
+
+    private Token save(User user, boolean revoked, boolean expired) {
+        return tokenRepository.save(Token.builder()
+                .token(UUID.randomUUID().toString())
+                .revoked(revoked)
+                .expired(expired)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,183 @@
+package com.taskmate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmate.dto.TaskChange;
+import com.taskmate.dto.TaskChangeBatch;
+import com.taskmate.model.Role;
+import com.taskmate.model.Task;
+import com.taskmate.model.TaskStatus;
+import com.taskmate.model.User;
+import com.taskmate.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Changes reach subscribers only after commit, and several changes to one task inside a flush
+ * interval go out as a single change carrying the final state. A user's batch starts where
+ * their previous one ended, or, for users not remembered, where the last forgotten user's did.
+ * The scheduled flush is pushed out of the way so each test flushes by hand.
+ */
+@SpringBootTest(properties = {
+        "taskmate.db-name=websocket_push_test",
+        "taskmate.websocket.flush-interval-ms=3600000",
+        "taskmate.websocket.tracked-users=3"
+})
+class WebSocketServiceTests {
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void flushBacklog() {
+        webSocketService.flush();
+        clearInvocations(messagingTemplate);
+    }
+
+    @Test
+    void updatesWithinOneIntervalArePushedOnceWithTheFinalState() throws Exception {
+        User user = newUser();
+        Task task = taskService.createTask(newTask(), user.getId().longValue());
+        webSocketService.flush();
+        clearInvocations(messagingTemplate);
+
+        taskService.updateTaskStatus(task.getId(), "IN_PROGRESS");
+        taskService.updateTaskStatus(task.getId(), "COMPLETED");
+        taskService.updateTaskStatus(task.getId(), "IN_PROGRESS");
+        taskService.updateTaskStatus(task.getId(), "COMPLETED");
+        webSocketService.flush();
+
+        Map<String, TaskChangeBatch> sent = sentBatches(2);
+        assertThat(sent).containsOnlyKeys(WebSocketService.CHANGES_TOPIC, WebSocketService.USER_TOPIC_PREFIX + user.getId());
+        for (TaskChangeBatch batch : sent.values()) {
+            assertThat(batch.getToSeq() - batch.getFromSeq()).isEqualTo(4);
+            assertThat(batch.getChanges()).singleElement().satisfies(change -> {
+                assertThat(change.getTaskId()).isEqualTo(task.getId());
+                assertThat(change.getSeq()).isEqualTo(batch.getToSeq());
+                assertThat(change.getType()).isEqualTo(TaskChange.Type.UPDATED);
+                assertThat(change.getFields()).containsEntry("status", TaskStatus.COMPLETED.name());
+            });
+        }
+
+        // Nothing new since, so nothing is sent
+        clearInvocations(messagingTemplate);
+        webSocketService.flush();
+        verify(messagingTemplate, never()).send(anyString(), any());
+    }
+
+    @Test
+    void rolledBackChangesAreNeverPushed() {
+        User user = newUser();
+        Task task = taskService.createTask(newTask(), user.getId().longValue());
+        webSocketService.flush();
+        clearInvocations(messagingTemplate);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.updateTaskStatus(task.getId(), "COMPLETED");
+            status.setRollbackOnly();
+        });
+        webSocketService.flush();
+
+        verify(messagingTemplate, never()).send(anyString(), any());
+    }
+
+    @Test
+    void userBatchesStartAtTheUsersOwnPositionWhichIsRememberedForRecentUsersOnly() throws Exception {
+        User other = newUser();
+        User newcomer = newUser();
+        taskService.createTask(newTask(), other.getId().longValue());
+        webSocketService.flush();
+        clearInvocations(messagingTemplate);
+
+        taskService.createTask(newTask(), newcomer.getId().longValue());
+        webSocketService.flush();
+        Map<String, TaskChangeBatch> first = sentBatches(2);
+        long newcomerSeq = first.get(WebSocketService.CHANGES_TOPIC).getToSeq();
+        // Nothing for the newcomer was ever pushed, so a client that loaded before the other
+        // user's change has not missed anything
+        assertThat(first.get(WebSocketService.USER_TOPIC_PREFIX + newcomer.getId()).getFromSeq())
+                .isLessThan(first.get(WebSocketService.CHANGES_TOPIC).getFromSeq());
+        clearInvocations(messagingTemplate);
+
+        // Three more users push both out of memory
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(newTask(), newUser().getId().longValue());
+        }
+        webSocketService.flush();
+        assertThat(webSocketService.trackedUsers()).isEqualTo(3);
+        clearInvocations(messagingTemplate);
+
+        taskService.createTask(newTask(), other.getId().longValue());
+        webSocketService.flush();
+        assertThat(sentBatches(2).get(WebSocketService.USER_TOPIC_PREFIX + other.getId()).getFromSeq())
+                .as("the newest sequence a forgotten user had been sent")
+                .isEqualTo(newcomerSeq);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, TaskChangeBatch> sentBatches(int expected) throws Exception {
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Message<byte[]>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(expected)).send(destinations.capture(), messages.capture());
+        Map<String, TaskChangeBatch> sent = new LinkedHashMap<>();
+        List<Message<byte[]>> payloads = messages.getAllValues();
+        for (int i = 0; i < expected; i++) {
+            sent.put(destinations.getAllValues().get(i),
+                    objectMapper.readValue(payloads.get(i).getPayload(), TaskChangeBatch.class));
+        }
+        return sent;
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Push")
+                .email("push-" + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Task newTask() {
+        Task task = new Task();
+        task.setTitle("push");
+        task.setDeadline(LocalDate.now().plusDays(1));
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
@@ -0,0 +1,37 @@
+-- Schema that ddl-auto=update created for the entities as they were before Flyway managed it
+-- (dumped from such a database with H2's SCRIPT command, constraint names kept).
+
+create table tasks (
+    id bigint generated by default as identity not null,
+    comments character varying,
+    deadline date,
+    description character varying(255),
+    priority enum('HIGH', 'LOW', 'MEDIUM', 'URGENT'),
+    status enum('COMPLETED', 'IN_PROGRESS', 'PENDING'),
+    title character varying(255),
+    user_id integer
+);
+alter table tasks add constraint constraint_4 primary key (id);
+
+create table token (
+    id bigint generated by default as identity not null,
+    expired boolean not null,
+    revoked boolean not null,
+    token character varying(255),
+    user_id integer
+);
+alter table token add constraint constraint_4c primary key (id);
+
+create table users (
+    id integer generated by default as identity not null,
+    email character varying(255),
+    name character varying(255),
+    password character varying(255),
+    role enum('ADMIN', 'USER')
+);
+alter table users add constraint constraint_4d primary key (id);
+
+alter table token add constraint ukpddrhgwxnms2aceeku9s2ewy5 unique nulls distinct (token);
+alter table users add constraint uk6dotkott2kjsp8vw4d0m25fb7 unique nulls distinct (email);
+alter table tasks add constraint fk6s1ob9k4ihi75xbxe2w0ylsdh foreign key (user_id) references users (id);
+alter table token add constraint fkj8rfw4x0wjjyibfqq566j4qng foreign key (user_id) references users (id);